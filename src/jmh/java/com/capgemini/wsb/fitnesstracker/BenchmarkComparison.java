@@ -0,0 +1,82 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, e.g. of the previous and the current release, and fails when a benchmark
+ * got slower by more than the threshold. A difference counts as a regression only if it also exceeds the sum of
+ * the score errors of both runs, so noisy benchmarks do not fail the comparison.
+ * Run through the {@code benchmark-compare} Maven profile, activated by {@code -Djmh.baseline=<file>}.
+ * <p>
+ * Arguments: {@code <baseline.json> <current.json> [threshold in percent, 10 by default]}.
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-100s %15s %15s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        current.forEach((key, result) -> {
+            Result previous = baseline.get(key);
+            if (previous == null) {
+                System.out.printf("%-100s %15s %15.3f %9s%n", key, "-", result.score(), "new");
+                return;
+            }
+            double change = (result.score() - previous.score()) / previous.score() * 100;
+            double worsening = result.lowerIsBetter() ? change : -change;
+            boolean regression = worsening > threshold
+                    && Math.abs(result.score() - previous.score()) > result.error() + previous.error();
+            System.out.printf("%-100s %15.3f %15.3f %+8.1f%% %s%s%n",
+                              key, previous.score(), result.score(), change, result.unit(), regression ? " REGRESSION" : "");
+            if (regression) {
+                regressions.add(key);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.printf("%d benchmarks regressed by more than %.1f%%: %s%n", regressions.size(), threshold, regressions);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return results keyed by benchmark name and parameters, in the order of the file
+     */
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = run.get("benchmark").asText() + (params.isEmpty() ? "" : " " + params);
+            JsonNode metric = run.get("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            results.put(key, new Result(metric.get("score").asDouble(),
+                                        Double.isNaN(error) ? 0 : error,
+                                        metric.get("scoreUnit").asText(),
+                                        !"thrpt".equals(run.get("mode").asText())));
+        }
+        return results;
+    }
+
+    private record Result(double score, double error, String unit, boolean lowerIsBetter) {
+    }
+}
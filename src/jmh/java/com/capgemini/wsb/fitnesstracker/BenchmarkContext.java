@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import com.capgemini.wsb.FitnessTracker;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application for benchmarks: no web server, no initial data and a dedicated in-memory database.
+ * The main {@code application.yml} is shadowed by the test one on the benchmark classpath,
+ * so the settings relevant for performance are passed explicitly.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, String... additionalArgs) {
+        String[] args = {
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--logging.level.root=WARN"
+        };
+        String[] allArgs = new String[args.length + additionalArgs.length];
+        System.arraycopy(args, 0, allArgs, 0, args.length);
+        System.arraycopy(additionalArgs, 0, allArgs, args.length, additionalArgs.length);
+        return new SpringApplicationBuilder(FitnessTracker.class)
+                .web(WebApplicationType.NONE)
+                .run(allArgs);
+    }
+}
@@ -0,0 +1,61 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds benchmark databases through JDBC batches, bypassing the application, so that millions of rows
+ * are inserted in seconds. Components that follow writes in memory have to be rebuilt afterwards.
+ */
+public final class BenchmarkData {
+
+    public static final long BASE_TIME = Timestamp.valueOf("2020-01-01 00:00:00").getTime();
+    public static final long SLOT = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Inserts users with IDs {@code 1..users} and the email {@code user<id>@bench.com}.
+     */
+    public static void seedUsers(JdbcTemplate jdbcTemplate, int users) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int u = 1; u <= users; u++) {
+            batch.add(new Object[]{u, "First" + u, "Last" + u, Date.valueOf("1990-01-01"), email(u), email(u)});
+            if (batch.size() == BATCH_SIZE || u == users) {
+                jdbcTemplate.batchUpdate("insert into users (id, first_name, last_name, birthdate, email, email_normalized) values (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Inserts trainings with IDs {@code 1..rows}, assigned to the users round-robin. The {@code i}-th training
+     * ends at {@code BASE_TIME + i * SLOT}, so end times are unique and grow with the ID.
+     */
+    public static void seedTrainings(JdbcTemplate jdbcTemplate, int rows, int users) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            long endTime = BASE_TIME + i * SLOT;
+            batch.add(new Object[]{i + 1, (i % users) + 1, new Timestamp(endTime - SLOT / 2), new Timestamp(endTime),
+                                   i % 5, 10.0, 8.0});
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate("""
+                        insert into trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed)
+                        values (?, ?, ?, ?, ?, ?, ?)""", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    public static String email(long userId) {
+        return "user" + userId + "@bench.com";
+    }
+}
@@ -0,0 +1,94 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.BenchmarkContext;
+import com.capgemini.wsb.fitnesstracker.BenchmarkData;
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full run of {@link EmailTrainingReport#generateSummaryOfMonthlyTraining()} on a single node:
+ * planning the partitions, reading the monthly rollups, paging through the users and appending one email per user
+ * to the outbox. The outbox is not dispatched. Every iteration is a single run, after which the emails
+ * and partitions are removed so the next run starts over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class MonthlyReportBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private EmailTrainingReport emailTrainingReport;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("monthlyReport" + users, "--mail.outbox.poll-interval=PT24H");
+        emailTrainingReport = context.getBean(EmailTrainingReport.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.seedUsers(jdbcTemplate, users);
+        seedRollups();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearRun() {
+        jdbcTemplate.update("truncate table email_outbox");
+        jdbcTemplate.update("truncate table job_partition");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void generateSummaryOfMonthlyTraining() {
+        emailTrainingReport.generateSummaryOfMonthlyTraining();
+    }
+
+    /**
+     * Gives every user a monthly rollup of last month, as read by the report.
+     */
+    private void seedRollups() {
+        Date lastMonth = Date.valueOf(YearMonth.now(ZoneOffset.UTC).minusMonths(1).atDay(1));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int u = 1; u <= users; u++) {
+            batch.add(new Object[]{u, u, u % 5, BucketGranularity.MONTH.name(), lastMonth, u % 10, 10.0 * (u % 10), 1_800_000L * (u % 10), 8.0});
+            if (batch.size() == BATCH_SIZE || u == users) {
+                jdbcTemplate.batchUpdate("""
+                        insert into training_rollup (id, user_id, activity_type, bucket_granularity, bucket_start,
+                                                     count, total_distance, total_duration, max_speed)
+                        values (?, ?, ?, ?, ?, ?, ?, ?, ?)""", batch);
+                batch.clear();
+            }
+        }
+    }
+}
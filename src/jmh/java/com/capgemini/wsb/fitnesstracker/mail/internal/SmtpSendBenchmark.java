@@ -0,0 +1,102 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sending messages one by one through {@link JavaMailSenderImpl#send(SimpleMailMessage)}, which opens
+ * an SMTP connection per message, with sending them over the {@link SmtpConnectionPool}.
+ * Messages are delivered to an in-process GreenMail server; the score is reported in messages per second.
+ * Run with {@code -Djmh.args="SmtpSendBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SmtpSendBenchmark {
+
+    private static final int MESSAGES = 100;
+
+    @Param({"100"})
+    public int messagesPerConnection;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl mailSender;
+    private SmtpConnectionPool connectionPool;
+    private SimpleMailMessage message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        MailProperties.Outbox outbox = new MailProperties.Outbox(MESSAGES, 1, messagesPerConnection, 5,
+                                                                 Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofMinutes(5),
+                                                                 new MailProperties.Limiter(1, 1, 2.0, 0.9, Duration.ofSeconds(30), 0, 10));
+        connectionPool = new SmtpConnectionPool(mailSender, new MailProperties("bench@ftwsb.com", outbox));
+
+        message = new SimpleMailMessage();
+        message.setFrom("bench@ftwsb.com");
+        message.setTo("user@bench.com");
+        message.setSubject("Monthly Training Summary");
+        message.setText("Congratulations Bench Mark you have finished 3 trainings last month!");
+    }
+
+    @TearDown(Level.Iteration)
+    public void purge() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionPool.destroy();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void perMessageConnection() {
+        for (int i = 0; i < MESSAGES; i++) {
+            mailSender.send(message);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void pooledConnection() throws InterruptedException, MessagingException {
+        SmtpConnectionPool.SmtpConnection connection = connectionPool.borrow();
+        try {
+            for (int i = 0; i < MESSAGES; i++) {
+                connection.send(connectionPool.createMessage(message));
+            }
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+}
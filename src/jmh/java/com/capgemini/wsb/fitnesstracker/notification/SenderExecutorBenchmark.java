@@ -0,0 +1,90 @@
+package com.capgemini.wsb.fitnesstracker.notification;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the platform-thread and virtual-thread {@code SenderExecutor} under a burst of blocking tasks,
+ * each sleeping for {@code blockingMillis} to stand in for an SMTP or database round trip.
+ * The score is reported in completed tasks per second. The {@code virtual} mode requires Java 21 or newer
+ * and fails its setup on older runtimes. Run with {@code -Djmh.args="SenderExecutorBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SenderExecutorBenchmark {
+
+    private static final int TASKS = 1000;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"10"})
+    public long blockingMillis;
+
+    private final SenderProperties senderProperties = new SenderProperties(5, 50, TASKS, 200);
+
+    private AsyncTaskExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AsyncSender asyncSender = new AsyncSender(null);
+        if ("platform".equals(mode)) {
+            ThreadPoolTaskExecutor pool = asyncSender.platformSenderExecutor(senderProperties);
+            pool.initialize();
+            executor = pool;
+        } else if (Runtime.version().feature() >= 21) {
+            executor = asyncSender.virtualSenderExecutor(senderProperties);
+        } else {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer, running on " + Runtime.version());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor simple) {
+            simple.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void burstOfBlockingTasks() {
+        CompletableFuture<?>[] futures = new CompletableFuture[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            futures[i] = CompletableFuture.runAsync(this::block, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void block() {
+        try {
+            Thread.sleep(blockingMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
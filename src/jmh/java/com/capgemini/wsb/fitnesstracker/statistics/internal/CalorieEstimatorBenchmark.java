@@ -0,0 +1,79 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the calorie estimation of {@value #TRAININGS} historic trainings, as done by the statistics recalculation.
+ * {@code batch} runs the primitive-array kernel over prepared columns, {@code perTraining} estimates
+ * the same trainings one {@link TrainingSnapshot} at a time. The score is reported in trainings per second.
+ * Run with {@code -Djmh.args="CalorieEstimatorBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CalorieEstimatorBenchmark {
+
+    private static final int TRAININGS = 1_000_000;
+    private static final long BASE_TIME = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+
+    private TrainingSnapshot[] trainings;
+    private CalorieEstimator.Batch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ActivityType[] activityTypes = ActivityType.values();
+        trainings = new TrainingSnapshot[TRAININGS];
+        batch = new CalorieEstimator.Batch(TRAININGS);
+        for (int i = 0; i < TRAININGS; i++) {
+            long start = BASE_TIME + random.nextLong(TimeUnit.DAYS.toMillis(4 * 365));
+            long duration = TimeUnit.MINUTES.toMillis(random.nextInt(10, 180));
+            ActivityType activityType = activityTypes[random.nextInt(activityTypes.length)];
+            double speed = random.nextDouble(2.0, 35.0);
+            trainings[i] = new TrainingSnapshot((long) i, (long) (i % 10_000),
+                                                LocalDate.ofEpochDay(random.nextInt(-20_000, 10_000)),
+                                                new Date(start), new Date(start + duration), activityType,
+                                                speed * duration / TimeUnit.HOURS.toMillis(1), speed);
+            batch.add(trainings[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRAININGS)
+    public int[] batch() {
+        CalorieEstimator.estimate(batch);
+        return batch.calories;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRAININGS)
+    public long perTraining() {
+        long total = 0;
+        for (TrainingSnapshot training : trainings) {
+            total += CalorieEstimator.estimate(training);
+        }
+        return total;
+    }
+}
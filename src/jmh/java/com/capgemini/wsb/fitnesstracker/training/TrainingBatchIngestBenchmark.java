@@ -0,0 +1,80 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.BenchmarkContext;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.CreateOrUpdateTrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingBatchItemDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the ingestion throughput of {@link TrainingService#saveTrainings(List)}.
+ * The score is reported per inserted training, i.e. in inserts per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TrainingBatchIngestBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private ConfigurableApplicationContext context;
+    private TrainingService trainingService;
+    private List<CreateOrUpdateTrainingDto> batch;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = BenchmarkContext.start("trainingBatchIngest");
+        trainingService = context.getBean(TrainingService.class);
+        User user = ((JpaRepository<User, Long>) context.getBean("userRepository"))
+                .save(new User("Bench", "Mark", LocalDate.of(1990, 1, 1), "bench.mark@bench.com"));
+        batch = new ArrayList<>(BATCH);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(CreateOrUpdateTrainingDto.builder()
+                              .userId(user.getId())
+                              .startTime(new Date(now - TimeUnit.HOURS.toMillis(1)))
+                              .endTime(new Date(now))
+                              .activityType(ActivityType.values()[i % ActivityType.values().length])
+                              .distance(10.0)
+                              .averageSpeed(8.0)
+                              .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<TrainingBatchItemDto> saveBatch() {
+        return trainingService.saveTrainings(batch);
+    }
+}
@@ -0,0 +1,96 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.BenchmarkContext;
+import com.capgemini.wsb.fitnesstracker.BenchmarkData;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingTimeIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the {@link TrainingProvider} queries while the {@code trainings} table grows.
+ * Every query is shaped to return a constant number of rows ({@value #TRAININGS_PER_USER} per user, the
+ * {@value #TRAININGS_PER_USER} most recent trainings), so with index-backed queries the latency should stay flat
+ * across the {@code rows} parameter.
+ * The rows are seeded bypassing the application, so the {@link TrainingTimeIndex}, when enabled, is rebuilt afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TrainingQueryBenchmark {
+
+    private static final int TRAININGS_PER_USER = 100;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TrainingProvider trainingProvider;
+    private int users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("trainingQuery" + rows);
+        trainingProvider = context.getBean(TrainingProvider.class);
+        users = Math.max(rows / TRAININGS_PER_USER, 1);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.seedUsers(jdbcTemplate, users);
+        BenchmarkData.seedTrainings(jdbcTemplate, rows, users);
+        context.getBeanProvider(TrainingTimeIndex.class).ifAvailable(TrainingTimeIndex::rebuild);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Training> findTrainingsForUser() {
+        return trainingProvider.findTrainingsForUserWithId(randomUserId());
+    }
+
+    @Benchmark
+    public List<Training> findTrainingsForUserInMonth() {
+        long userId = randomUserId();
+        return trainingProvider.findByUserIdFromLastMonth(userId,
+                                                          new java.util.Date(endTimeOf(userId, 40)),
+                                                          new java.util.Date(endTimeOf(userId, 49)));
+    }
+
+    @Benchmark
+    public List<Training> findRecentlyEndedTrainings() {
+        return trainingProvider.findTrainingsEndedAfter(new java.util.Date(BenchmarkData.BASE_TIME + (long) (rows - TRAININGS_PER_USER) * BenchmarkData.SLOT));
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1);
+    }
+
+    /**
+     * End time of the {@code k}-th training of the given user; trainings are assigned to users round-robin.
+     */
+    private long endTimeOf(long userId, int k) {
+        return BenchmarkData.BASE_TIME + ((userId - 1) + (long) k * users) * BenchmarkData.SLOT;
+    }
+}
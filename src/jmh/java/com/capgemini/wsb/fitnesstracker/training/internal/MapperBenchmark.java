@@ -0,0 +1,90 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserDto;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity to DTO mapping of {@link TrainingMapper#fromTraining(Training)} and
+ * {@link UserMapper#toDto(User)}, as done for every row of a listing, per mapped entity.
+ * The entities are prepared up front and cycled through, so that {@code rows} beyond the cache sizes
+ * show the cost of touching cold entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final UserMapper userMapper = new UserMapper();
+    private final TrainingMapper trainingMapper = new TrainingMapper(userMapper);
+    private Training[] trainings;
+    private User[] users;
+    private int offset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trainings = new Training[rows];
+        users = new User[rows];
+        ActivityType[] activityTypes = ActivityType.values();
+        for (int i = 0; i < rows; i++) {
+            User user = new User("First" + i, "Last" + i, LocalDate.of(1990, 1, 1), "user" + i + "@bench.com");
+            user.setId((long) i + 1);
+            users[i] = user;
+            trainings[i] = new Training(user, new Date(i * 60_000L), new Date(i * 60_000L + 30_000L),
+                                        activityTypes[i % activityTypes.length], 10.0, 8.0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void trainingFromTraining(Blackhole blackhole) {
+        int start = nextChunk();
+        for (int i = start; i < start + CHUNK; i++) {
+            TrainingDto dto = trainingMapper.fromTraining(trainings[i]);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void userToDto(Blackhole blackhole) {
+        int start = nextChunk();
+        for (int i = start; i < start + CHUNK; i++) {
+            UserDto dto = userMapper.toDto(users[i]);
+            blackhole.consume(dto);
+        }
+    }
+
+    private int nextChunk() {
+        int start = offset;
+        offset = start + 2 * CHUNK > rows ? 0 : start + CHUNK;
+        return start;
+    }
+}
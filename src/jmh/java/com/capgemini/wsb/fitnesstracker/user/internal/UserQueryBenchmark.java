@@ -0,0 +1,70 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.BenchmarkContext;
+import com.capgemini.wsb.fitnesstracker.BenchmarkData;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of {@link UserRepository#findByEmail(String)} while the {@code users} table grows.
+ * The lookup goes through the unique index on the normalized email, so the latency should stay flat
+ * across the {@code rows} parameter. Emails are looked up in upper case to include the normalization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserQueryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("userQuery" + rows);
+        userRepository = context.getBean(UserRepository.class);
+        BenchmarkData.seedUsers(context.getBean(JdbcTemplate.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return userRepository.findByEmail(BenchmarkData.email(randomUserId()).toUpperCase());
+    }
+
+    @Benchmark
+    public Optional<User> findByEmailMissing() {
+        return userRepository.findByEmail("missing" + randomUserId() + "@bench.com");
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
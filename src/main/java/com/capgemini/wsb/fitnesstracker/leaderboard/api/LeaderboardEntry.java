@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.api;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Single position on a leaderboard.
+ *
+ * @param userId      ID of the ranked user
+ * @param trainingId  ID of the ranked training, {@code null} on leaderboards ranking users
+ * @param value       value of the {@link LeaderboardMetric} the position was ranked by
+ */
+public record LeaderboardEntry(
+        Long userId,
+        @Nullable
+        Long trainingId,
+        double value) {
+}
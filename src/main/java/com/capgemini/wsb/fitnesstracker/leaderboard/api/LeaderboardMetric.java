@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.api;
+
+/**
+ * Value users are ranked by on a leaderboard.
+ */
+public enum LeaderboardMetric {
+
+    /**
+     * Longest distance of a single training; every training is ranked separately.
+     */
+    DISTANCE,
+
+    /**
+     * Highest average speed of a single training; every training is ranked separately.
+     */
+    SPEED,
+
+    /**
+     * Number of trainings; every user is ranked once.
+     */
+    TRAININGS
+}
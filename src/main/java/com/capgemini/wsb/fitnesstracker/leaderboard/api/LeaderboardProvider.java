@@ -0,0 +1,24 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.util.List;
+
+/**
+ * Interface for reading leaderboards of trainings.
+ */
+public interface LeaderboardProvider {
+
+    /**
+     * Retrieves the top positions of a leaderboard, in the order of the ranking.
+     * Ties are ordered by user ID and then by training ID.
+     *
+     * @param activityType activity type of the ranked trainings.
+     * @param metric value the positions are ranked by.
+     * @param window period of time of the ranked trainings.
+     * @param limit maximum number of positions to return.
+     * @return list of at most {@code limit} positions, best first.
+     */
+    List<LeaderboardEntry> getTop(ActivityType activityType, LeaderboardMetric metric, LeaderboardWindow window, int limit);
+
+}
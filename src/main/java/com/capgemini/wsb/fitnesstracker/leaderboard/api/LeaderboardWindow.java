@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.api;
+
+/**
+ * Period of time whose trainings are ranked on a leaderboard, matched by the end time of the trainings.
+ */
+public enum LeaderboardWindow {
+
+    /**
+     * Current ISO week in UTC, starting on Monday.
+     */
+    WEEK,
+
+    /**
+     * All trainings ever recorded.
+     */
+    ALL_TIME
+}
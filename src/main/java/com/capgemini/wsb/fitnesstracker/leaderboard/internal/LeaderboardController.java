@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardMetric;
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardWindow;
+import com.capgemini.wsb.fitnesstracker.pagination.api.PaginationProperties;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing leaderboards of trainings per activity type.
+ */
+@RestController
+@RequestMapping("/v1/leaderboards")
+@RequiredArgsConstructor
+class LeaderboardController {
+
+    private final LeaderboardServiceImpl leaderboardService;
+    private final LeaderboardMapper leaderboardMapper;
+    private final PaginationProperties paginationProperties;
+
+    /**
+     * Gets the top positions of a leaderboard.
+     *
+     * @param activityType activity type of the ranked trainings.
+     * @param metric value the positions are ranked by, the longest distance by default.
+     * @param window period of time of the ranked trainings, all time by default.
+     * @param limit requested number of positions, clamped to the configured maximum page size.
+     * @return {@link LeaderboardDto} with the positions, best first.
+     */
+    @GetMapping("/{activityType}")
+    public LeaderboardDto getLeaderboard(@PathVariable("activityType") ActivityType activityType,
+                                         @RequestParam(value = "metric", defaultValue = "DISTANCE") LeaderboardMetric metric,
+                                         @RequestParam(value = "window", defaultValue = "ALL_TIME") LeaderboardWindow window,
+                                         @RequestParam(value = "limit", required = false) @Nullable Integer limit) {
+        int size = paginationProperties.resolvePageSize(limit);
+        return leaderboardMapper.toDto(activityType, metric, window,
+                                       leaderboardService.getTop(activityType, metric, window, size));
+    }
+}
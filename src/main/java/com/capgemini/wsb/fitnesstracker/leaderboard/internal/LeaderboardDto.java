@@ -0,0 +1,14 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardMetric;
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardWindow;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.util.List;
+
+record LeaderboardDto(
+        ActivityType activityType,
+        LeaderboardMetric metric,
+        LeaderboardWindow window,
+        List<LeaderboardEntryDto> entries) {
+}
@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.annotation.Nullable;
+
+/**
+ * @param rank        position on the leaderboard, starting from 1
+ * @param trainingId  omitted on leaderboards ranking users
+ */
+record LeaderboardEntryDto(
+        int rank,
+        Long userId,
+        @Nullable
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long trainingId,
+        double value) {
+}
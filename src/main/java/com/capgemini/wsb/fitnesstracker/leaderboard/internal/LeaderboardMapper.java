@@ -0,0 +1,28 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardEntry;
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardMetric;
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardWindow;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Component
+class LeaderboardMapper {
+
+    LeaderboardDto toDto(ActivityType activityType, LeaderboardMetric metric, LeaderboardWindow window,
+                         List<LeaderboardEntry> entries) {
+        return new LeaderboardDto(activityType,
+                                  metric,
+                                  window,
+                                  IntStream.range(0, entries.size())
+                                          .mapToObj(i -> toDto(i + 1, entries.get(i)))
+                                          .toList());
+    }
+
+    private LeaderboardEntryDto toDto(int rank, LeaderboardEntry entry) {
+        return new LeaderboardEntryDto(rank, entry.userId(), entry.trainingId(), entry.value());
+    }
+}
@@ -0,0 +1,34 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the leaderboards kept in memory by the {@link LeaderboardServiceImpl}.
+ */
+@ConfigurationProperties(prefix = "leaderboard")
+@Getter
+class LeaderboardProperties {
+
+    /**
+     * Number of top positions kept per board, bounding the memory of the leaderboards to
+     * {@code capacity} entries for each activity type, metric and window regardless of the number of trainings.
+     * Positions beyond the requested limit absorb removals before the board has to be read again from the database;
+     * a request for more positions than kept reads that many.
+     */
+    private final int capacity;
+
+    /**
+     * Time after which a board is read again from the database, bounding how long trainings written
+     * by other instances are missing from it.
+     */
+    private final Duration refreshInterval;
+
+    LeaderboardProperties(@DefaultValue("1000") int capacity, @DefaultValue("1m") Duration refreshInterval) {
+        this.capacity = capacity;
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -0,0 +1,127 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardEntry;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Top positions of the leaderboards read from the trainings, ordered the same way as the boards held in memory:
+ * by value descending, then by user ID and training ID.
+ * The all-time queries are served by the {@code (activity_type, distance)} and {@code (activity_type, average_speed)}
+ * indexes, the weekly ones by the {@code (activity_type, end_time)} index.
+ */
+interface LeaderboardRepository extends Repository<Training, Long> {
+
+    /**
+     * @param activityType activity type of the trainings
+     * @param pageable number of positions to read
+     * @return trainings with the longest distance
+     */
+    @Query("""
+            select new com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardEntry(t.user.id, t.id, t.distance)
+            from Training t
+            where t.activityType = :activityType
+            order by t.distance desc, t.user.id, t.id
+            """)
+    List<LeaderboardEntry> findLongest(@Param("activityType") ActivityType activityType, Pageable pageable);
+
+    /**
+     * @param activityType activity type of the trainings
+     * @param from first instant of the period, inclusive
+     * @param to first instant after the period, exclusive
+     * @param pageable number of positions to read
+     * @return trainings ended within the period with the longest distance
+     */
+    @Query("""
+            select new com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardEntry(t.user.id, t.id, t.distance)
+            from Training t
+            where t.activityType = :activityType
+              and t.endTime >= :from and t.endTime < :to
+            order by t.distance desc, t.user.id, t.id
+            """)
+    List<LeaderboardEntry> findLongestEndedBetween(@Param("activityType") ActivityType activityType,
+                                                   @Param("from") Date from,
+                                                   @Param("to") Date to,
+                                                   Pageable pageable);
+
+    /**
+     * @param activityType activity type of the trainings
+     * @param pageable number of positions to read
+     * @return trainings with the highest average speed
+     */
+    @Query("""
+            select new com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardEntry(t.user.id, t.id, t.averageSpeed)
+            from Training t
+            where t.activityType = :activityType
+            order by t.averageSpeed desc, t.user.id, t.id
+            """)
+    List<LeaderboardEntry> findFastest(@Param("activityType") ActivityType activityType, Pageable pageable);
+
+    /**
+     * @param activityType activity type of the trainings
+     * @param from first instant of the period, inclusive
+     * @param to first instant after the period, exclusive
+     * @param pageable number of positions to read
+     * @return trainings ended within the period with the highest average speed
+     */
+    @Query("""
+            select new com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardEntry(t.user.id, t.id, t.averageSpeed)
+            from Training t
+            where t.activityType = :activityType
+              and t.endTime >= :from and t.endTime < :to
+            order by t.averageSpeed desc, t.user.id, t.id
+            """)
+    List<LeaderboardEntry> findFastestEndedBetween(@Param("activityType") ActivityType activityType,
+                                                   @Param("from") Date from,
+                                                   @Param("to") Date to,
+                                                   Pageable pageable);
+
+    /**
+     * @param activityType activity type of the trainings
+     * @param pageable number of positions to read
+     * @return users with the most trainings
+     */
+    @Query("""
+            select t.user.id as userId, count(t) as trainings from Training t
+            where t.activityType = :activityType
+            group by t.user.id
+            order by count(t) desc, t.user.id
+            """)
+    List<UserTrainingCount> findMostTrainings(@Param("activityType") ActivityType activityType, Pageable pageable);
+
+    /**
+     * @param activityType activity type of the trainings
+     * @param from first instant of the period, inclusive
+     * @param to first instant after the period, exclusive
+     * @param pageable number of positions to read
+     * @return users with the most trainings ended within the period
+     */
+    @Query("""
+            select t.user.id as userId, count(t) as trainings from Training t
+            where t.activityType = :activityType
+              and t.endTime >= :from and t.endTime < :to
+            group by t.user.id
+            order by count(t) desc, t.user.id
+            """)
+    List<UserTrainingCount> findMostTrainingsEndedBetween(@Param("activityType") ActivityType activityType,
+                                                          @Param("from") Date from,
+                                                          @Param("to") Date to,
+                                                          Pageable pageable);
+
+    /**
+     * Number of trainings of a single user.
+     */
+    interface UserTrainingCount {
+
+        Long getUserId();
+
+        long getTrainings();
+    }
+}
@@ -0,0 +1,329 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardEntry;
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardMetric;
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardProvider;
+import com.capgemini.wsb.fitnesstracker.leaderboard.api.LeaderboardWindow;
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChange;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the top positions of every leaderboard in memory, so they are read in O(K) instead of querying
+ * the trainings of an activity type on every request.
+ * A board holds the best {@link LeaderboardProperties#getCapacity()} positions, or the requested number if larger,
+ * read by the {@link LeaderboardRepository} when the board is first requested. Memory is therefore bounded by
+ * the capacity times the number of activity types, metrics and windows, independent of the number of trainings.
+ * Boards follow the trainings written through {@link com.capgemini.wsb.fitnesstracker.training.api.TrainingService}
+ * once their transaction commits: a write moves the written training, and the user owning it on the
+ * {@link LeaderboardMetric#TRAININGS} boards, in O(log K). Positions falling below the kept ones are dropped,
+ * and a board left with fewer positions than requested is read again.
+ * Trainings written by other instances or imported in bulk are not followed; every board is read again after
+ * {@link LeaderboardProperties#getRefreshInterval()}, which bounds how long they are missing from it.
+ * Weekly boards exist only for the current week, older ones are dropped as the week turns.
+ * Writes are serialized, reads never lock and may observe a write in progress.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class LeaderboardServiceImpl implements LeaderboardProvider {
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final LeaderboardProperties leaderboardProperties;
+
+    private final Map<BoardKey, Board> boards = new ConcurrentHashMap<>();
+    private final Map<BoardKey, Object> loadLocks = new ConcurrentHashMap<>();
+    /**
+     * Boards being read from the database, mapped to whether a training of them was written meanwhile.
+     */
+    private final Map<BoardKey, Boolean> loads = new HashMap<>();
+
+    /**
+     * Gets the top positions of a leaderboard.
+     *
+     * @param activityType activity type of the ranked Trainings.
+     * @param metric value the positions are ranked by.
+     * @param window period of time of the ranked Trainings.
+     * @param limit maximum number of positions to return.
+     * @return list of at most {@code limit} positions, best first.
+     */
+    @Override
+    public List<LeaderboardEntry> getTop(ActivityType activityType, LeaderboardMetric metric, LeaderboardWindow window, int limit) {
+        log.info("Fetching top {} of {} {} leaderboard of {}", limit, window, metric, activityType);
+        LocalDate weekStart = window == LeaderboardWindow.WEEK ? currentWeekStart() : null;
+        BoardKey key = new BoardKey(activityType, metric, weekStart);
+        Board board = boards.get(key);
+        if (board == null || board.needsLoad(limit)) {
+            board = load(key, limit);
+        }
+        return board.top(limit);
+    }
+
+    /**
+     * Drops all boards, so each is read again from the database once requested.
+     */
+    @EventListener(TrainingsImportedEvent.class)
+    public synchronized void clear() {
+        log.info("Clearing leaderboards");
+        boards.clear();
+        loads.replaceAll((key, written) -> true);
+    }
+
+    /**
+     * Moves written trainings to their current positions once the transaction writing them has committed.
+     *
+     * @param event trainings written in the committed transaction.
+     */
+    @TransactionalEventListener
+    public synchronized void onTrainingsChanged(TrainingsChangedEvent event) {
+        LocalDate currentWeekStart = currentWeekStart();
+        Map<BoardKey, Map<Long, Integer>> trainingCounts = new HashMap<>();
+        for (TrainingChange change : event.changes()) {
+            TrainingSnapshot previous = change.previous();
+            if (previous != null) {
+                forEachWindow(previous, currentWeekStart, weekStart -> {
+                    update(new BoardKey(previous.activityType(), LeaderboardMetric.DISTANCE, weekStart),
+                           board -> board.remove(previous.id()));
+                    update(new BoardKey(previous.activityType(), LeaderboardMetric.SPEED, weekStart),
+                           board -> board.remove(previous.id()));
+                    trainingCounts.computeIfAbsent(new BoardKey(previous.activityType(), LeaderboardMetric.TRAININGS, weekStart),
+                                                   key -> new HashMap<>())
+                            .merge(previous.userId(), -1, Integer::sum);
+                });
+            }
+            TrainingSnapshot current = change.current();
+            forEachWindow(current, currentWeekStart, weekStart -> {
+                update(new BoardKey(current.activityType(), LeaderboardMetric.DISTANCE, weekStart),
+                       board -> board.offer(new LeaderboardEntry(current.userId(), current.id(), current.distance())));
+                update(new BoardKey(current.activityType(), LeaderboardMetric.SPEED, weekStart),
+                       board -> board.offer(new LeaderboardEntry(current.userId(), current.id(), current.averageSpeed())));
+                trainingCounts.computeIfAbsent(new BoardKey(current.activityType(), LeaderboardMetric.TRAININGS, weekStart),
+                                               key -> new HashMap<>())
+                        .merge(current.userId(), 1, Integer::sum);
+            });
+        }
+        // applied once per user, so a training moved within a board does not count as leaving it
+        trainingCounts.forEach((key, deltas) -> deltas.forEach((userId, delta) -> {
+            if (delta != 0) {
+                update(key, board -> board.changeTrainingCount(userId, delta));
+            }
+        }));
+        dropWeeksBefore(currentWeekStart);
+    }
+
+    /**
+     * Reads a board from the database, unless a concurrent request already did.
+     * The board is read without holding the lock of the writes; if a training of it is written meanwhile,
+     * the read may or may not include it, so the board is read again by the next request.
+     */
+    private Board load(BoardKey key, int limit) {
+        synchronized (loadLocks.computeIfAbsent(key, k -> new Object())) {
+            Board board = boards.get(key);
+            if (board != null && !board.needsLoad(limit)) {
+                return board;
+            }
+            int capacity = Math.max(limit, leaderboardProperties.getCapacity());
+            synchronized (this) {
+                loads.put(key, false);
+            }
+            List<LeaderboardEntry> top;
+            try {
+                top = findTop(key, PageRequest.of(0, capacity));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    loads.remove(key);
+                }
+                throw e;
+            }
+            synchronized (this) {
+                boolean written = loads.remove(key);
+                long refreshAt = System.nanoTime() + (written ? 0 : leaderboardProperties.getRefreshInterval().toNanos());
+                board = new Board(top, capacity, refreshAt);
+                boards.put(key, board);
+                dropWeeksBefore(currentWeekStart());
+            }
+            log.debug("Read {} positions of {}", top.size(), key);
+            return board;
+        }
+    }
+
+    private List<LeaderboardEntry> findTop(BoardKey key, Pageable pageable) {
+        ActivityType activityType = key.activityType();
+        if (key.weekStart() == null) {
+            return switch (key.metric()) {
+                case DISTANCE -> leaderboardRepository.findLongest(activityType, pageable);
+                case SPEED -> leaderboardRepository.findFastest(activityType, pageable);
+                case TRAININGS -> toEntries(leaderboardRepository.findMostTrainings(activityType, pageable));
+            };
+        }
+        Date from = Date.from(key.weekStart().atStartOfDay(ZoneOffset.UTC).toInstant());
+        Date to = Date.from(key.weekStart().plusWeeks(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        return switch (key.metric()) {
+            case DISTANCE -> leaderboardRepository.findLongestEndedBetween(activityType, from, to, pageable);
+            case SPEED -> leaderboardRepository.findFastestEndedBetween(activityType, from, to, pageable);
+            case TRAININGS -> toEntries(leaderboardRepository.findMostTrainingsEndedBetween(activityType, from, to, pageable));
+        };
+    }
+
+    private static List<LeaderboardEntry> toEntries(List<LeaderboardRepository.UserTrainingCount> counts) {
+        return counts.stream()
+                .map(count -> new LeaderboardEntry(count.getUserId(), null, count.getTrainings()))
+                .toList();
+    }
+
+    /**
+     * Applies a write to a board held in memory and marks a read of the board in progress as outdated.
+     */
+    private void update(BoardKey key, Consumer<Board> action) {
+        loads.computeIfPresent(key, (k, written) -> true);
+        Board board = boards.get(key);
+        if (board != null) {
+            action.accept(board);
+        }
+    }
+
+    private void dropWeeksBefore(LocalDate currentWeekStart) {
+        boards.keySet().removeIf(key -> key.weekStart() != null && key.weekStart().isBefore(currentWeekStart));
+        loadLocks.keySet().removeIf(key -> key.weekStart() != null && key.weekStart().isBefore(currentWeekStart));
+    }
+
+    /**
+     * Passes {@code null} for the all-time window and the start of the week of the training,
+     * unless that week is already over.
+     */
+    private static void forEachWindow(TrainingSnapshot training, LocalDate currentWeekStart, Consumer<LocalDate> action) {
+        action.accept(null);
+        LocalDate weekStart = BucketGranularity.WEEK.bucketStart(training.endTime());
+        if (!weekStart.isBefore(currentWeekStart)) {
+            action.accept(weekStart);
+        }
+    }
+
+    private static LocalDate currentWeekStart() {
+        return BucketGranularity.WEEK.bucketStart(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Identity of a single leaderboard; {@code weekStart} is {@code null} for the all-time boards.
+     */
+    private record BoardKey(ActivityType activityType, LeaderboardMetric metric, @Nullable LocalDate weekStart) {
+    }
+
+    /**
+     * Best positions of a single leaderboard ordered from the best, keyed by the training, or by the user when
+     * the positions have no training. Always an exact prefix of the full ranking: a position whose place is not
+     * known any more is dropped. Mutated only under the lock of the service, read concurrently.
+     */
+    private static final class Board {
+
+        private static final Comparator<LeaderboardEntry> ORDER = Comparator
+                .comparingDouble(LeaderboardEntry::value).reversed()
+                .thenComparing(LeaderboardEntry::userId)
+                .thenComparing(LeaderboardEntry::trainingId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private final ConcurrentSkipListSet<LeaderboardEntry> entries = new ConcurrentSkipListSet<>(ORDER);
+        private final Map<Long, LeaderboardEntry> entriesByKey = new HashMap<>();
+        private final int capacity;
+        private final long refreshAt;
+
+        /**
+         * Whether the board holds every position there is, so a training or user missing from it has none.
+         */
+        private volatile boolean complete;
+
+        Board(List<LeaderboardEntry> top, int capacity, long refreshAt) {
+            this.capacity = capacity;
+            this.refreshAt = refreshAt;
+            top.forEach(this::put);
+            complete = top.size() < capacity;
+        }
+
+        /**
+         * @return true if the board is due for a refresh or cannot serve {@code limit} positions.
+         */
+        boolean needsLoad(int limit) {
+            return System.nanoTime() - refreshAt >= 0 || !complete && entries.size() < limit;
+        }
+
+        List<LeaderboardEntry> top(int limit) {
+            return entries.stream().limit(limit).toList();
+        }
+
+        /**
+         * Moves an entry to its position, dropping it when it ranks below the kept positions of an incomplete board,
+         * and the last position when the board exceeds its capacity.
+         */
+        void offer(LeaderboardEntry entry) {
+            remove(keyOf(entry));
+            if (!complete && (entries.isEmpty() || ORDER.compare(entry, entries.last()) > 0)) {
+                return;
+            }
+            put(entry);
+            if (entries.size() > capacity) {
+                entriesByKey.remove(keyOf(entries.pollLast()));
+                complete = false;
+            }
+        }
+
+        void remove(Long key) {
+            LeaderboardEntry previous = entriesByKey.remove(key);
+            if (previous != null) {
+                entries.remove(previous);
+            }
+        }
+
+        /**
+         * Changes the number of trainings of a user. The count of a user missing from an incomplete board is
+         * unknown, only at most the last kept one, so on an increase the positions the user may now precede are dropped.
+         */
+        void changeTrainingCount(Long userId, int delta) {
+            LeaderboardEntry previous = entriesByKey.get(userId);
+            if (previous == null && !complete) {
+                if (delta > 0 && !entries.isEmpty()) {
+                    double bound = entries.last().value() + delta;
+                    while (!entries.isEmpty() && entries.last().value() <= bound) {
+                        entriesByKey.remove(keyOf(entries.pollLast()));
+                    }
+                }
+                return;
+            }
+            double count = (previous == null ? 0 : previous.value()) + delta;
+            if (count > 0) {
+                offer(new LeaderboardEntry(userId, null, count));
+            } else {
+                remove(userId);
+            }
+        }
+
+        private void put(LeaderboardEntry entry) {
+            entriesByKey.put(keyOf(entry), entry);
+            entries.add(entry);
+        }
+
+        private static Long keyOf(LeaderboardEntry entry) {
+            return entry.trainingId() != null ? entry.trainingId() : entry.userId();
+        }
+    }
+}
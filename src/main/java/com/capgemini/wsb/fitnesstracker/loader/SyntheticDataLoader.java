@@ -0,0 +1,224 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.EmailNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic data loader. If the application is run with `loadInitialData` profile, then on application startup it
+ * fills the database with generated users and trainings, sized by the {@code loader.*} properties, for manual
+ * and capacity testing.
+ * <p>
+ * Users are generated in batches, each batch inserted in its own transaction through JDBC batches, several batches
+ * at once. Every user draws its values from a random generator seeded by the configured seed and its position,
+ * so the same seed produces the same data regardless of the parallelism; only the training IDs follow the order
+ * the batches complete in. Rows are appended after the existing ones and the ID generators are moved past them.
+ * Loader is triggered by {@link ContextRefreshedEvent} event and publishes a {@link TrainingsImportedEvent} once done,
+ * so data derived from the trainings is rebuilt; the listeners rebuild it in chunks of users, one transaction each,
+ * so the heap does not grow with the generated dataset.
+ */
+@Component
+@Profile("loadInitialData")
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+class SyntheticDataLoader {
+
+    private static final String[] FIRST_NAMES = {
+            "Emma", "Ethan", "Olivia", "Daniel", "Sophia", "Liam", "Ava", "Noah", "Grace", "Oliver",
+            "Mia", "Lucas", "Amelia", "Mason", "Harper", "James", "Ella", "Henry", "Chloe", "Jacob"};
+    private static final String[] LAST_NAMES = {
+            "Johnson", "Taylor", "Davis", "Thomas", "Baker", "Jones", "Williams", "Miller", "Anderson", "Swift",
+            "Brown", "Wilson", "Moore", "Clark", "Lewis", "Walker", "Hall", "Young", "King", "Wright"};
+    private static final String[] DOMAINS = {"domain.com", "mail.com", "example.org", "fitness.net"};
+
+    private static final int MIN_AGE = 16;
+    private static final int MAX_AGE = 80;
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Duration and speed ranges of every activity type; speeds spread around the mean by up to twice the deviation.
+     */
+    private static final Map<ActivityType, ActivityProfile> PROFILES = new EnumMap<>(Map.of(
+            ActivityType.RUNNING, new ActivityProfile(20, 100, 10.0, 1.5, 6.0, 18.0),
+            ActivityType.CYCLING, new ActivityProfile(30, 180, 22.0, 4.0, 12.0, 40.0),
+            ActivityType.WALKING, new ActivityProfile(20, 120, 5.0, 0.7, 3.0, 7.5),
+            ActivityType.SWIMMING, new ActivityProfile(20, 75, 2.5, 0.5, 1.0, 4.0),
+            ActivityType.TENNIS, new ActivityProfile(45, 120, 0.0, 0.0, 0.0, 0.0)));
+
+    private final SyntheticDataProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener
+    public void loadInitialData(ContextRefreshedEvent event) {
+        log.info("Generating {} users with {} {} trainings per user between {} and {}",
+                 properties.getUsers(), properties.getTrainingsDistribution(), properties.getTrainingsPerUser(),
+                 properties.getFrom(), properties.getTo());
+        long start = System.nanoTime();
+
+        long firstUserId = nextId("users");
+        AtomicLong nextTrainingId = new AtomicLong(nextId("trainings"));
+        ActivityType[] activities = properties.getActivityMix().keySet().toArray(ActivityType[]::new);
+        int[] cumulativeWeights = cumulativeWeights(activities);
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism());
+        long trainings;
+        try {
+            List<CompletableFuture<Integer>> batches = new ArrayList<>();
+            for (int from = 0; from < properties.getUsers(); from += properties.getBatchSize()) {
+                int batchFrom = from;
+                int batchTo = Math.min(from + properties.getBatchSize(), properties.getUsers());
+                batches.add(CompletableFuture.supplyAsync(
+                        () -> insertBatch(firstUserId, batchFrom, batchTo, nextTrainingId, activities, cumulativeWeights),
+                        executor));
+            }
+            trainings = batches.stream().mapToLong(CompletableFuture::join).sum();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        jdbcTemplate.execute("alter table users alter column id restart with " + (firstUserId + properties.getUsers()));
+        // Hibernate hands out the IDs up to a sequence value, starting a whole allocation below it
+        jdbcTemplate.execute("alter sequence " + Training.ID_SEQUENCE + " restart with "
+                             + (nextTrainingId.get() - 1 + Training.ID_ALLOCATION_SIZE));
+        log.info("Generated {} users and {} trainings in {} ms",
+                 properties.getUsers(), trainings, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        eventPublisher.publishEvent(new TrainingsImportedEvent(trainings));
+    }
+
+    /**
+     * Generates and inserts the users at positions {@code from} to {@code to}, exclusive, with their trainings.
+     *
+     * @return number of inserted trainings
+     */
+    private int insertBatch(long firstUserId, int from, int to, AtomicLong nextTrainingId,
+                            ActivityType[] activities, int[] cumulativeWeights) {
+        List<Object[]> users = new ArrayList<>(to - from);
+        List<Object[]> trigrams = new ArrayList<>();
+        List<Object[]> trainings = new ArrayList<>();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        long fromMillis = properties.getFrom().atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        long toMillis = properties.getTo().atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+        for (int position = from; position < to; position++) {
+            SplittableRandom random = new SplittableRandom(properties.getSeed() + position * SEED_STEP);
+            long userId = firstUserId + position;
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String email = "%s.%s%d@%s".formatted(firstName, lastName, userId, DOMAINS[random.nextInt(DOMAINS.length)]);
+            String normalizedEmail = EmailNormalizer.normalize(email);
+            LocalDate birthdate = today.minusYears(random.nextInt(MIN_AGE, MAX_AGE + 1)).minusDays(random.nextInt(365));
+            users.add(new Object[]{userId, firstName, lastName, Date.valueOf(birthdate), email, normalizedEmail});
+            EmailNormalizer.trigrams(normalizedEmail).forEach(gram -> trigrams.add(new Object[]{userId, gram}));
+
+            int count = trainingCount(random);
+            for (int i = 0; i < count; i++) {
+                ActivityType activity = activities[pick(random, cumulativeWeights)];
+                trainings.add(training(random, userId, activity, random.nextLong(fromMillis, toMillis)));
+            }
+        }
+
+        long firstTrainingId = nextTrainingId.getAndAdd(trainings.size());
+        for (int i = 0; i < trainings.size(); i++) {
+            trainings.get(i)[0] = firstTrainingId + i;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("""
+                    insert into users (id, first_name, last_name, birthdate, email, email_normalized)
+                    values (?, ?, ?, ?, ?, ?)""", users);
+            jdbcTemplate.batchUpdate("insert into user_email_trigrams (user_id, trigram) values (?, ?)", trigrams);
+            jdbcTemplate.batchUpdate("""
+                    insert into trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed)
+                    values (?, ?, ?, ?, ?, ?, ?)""", trainings);
+        });
+        log.debug("Inserted users {} to {} with {} trainings", firstUserId + from, firstUserId + to - 1, trainings.size());
+        return trainings.size();
+    }
+
+    private int trainingCount(SplittableRandom random) {
+        double mean = properties.getTrainingsPerUser();
+        if (mean <= 0) {
+            return 0;
+        }
+        return switch (properties.getTrainingsDistribution()) {
+            case FIXED -> (int) Math.round(mean);
+            case UNIFORM -> random.nextInt((int) Math.round(2 * mean) + 1);
+            case EXPONENTIAL -> (int) (Math.log(1 - random.nextDouble()) / Math.log(mean / (mean + 1)));
+        };
+    }
+
+    /**
+     * @return training row, with the ID left to be assigned
+     */
+    private static Object[] training(SplittableRandom random, long userId, ActivityType activity, long startMillis) {
+        ActivityProfile profile = PROFILES.get(activity);
+        int minutes = random.nextInt(profile.minMinutes(), profile.maxMinutes() + 1);
+        double spread = (random.nextDouble(-1, 1) + random.nextDouble(-1, 1)) * profile.speedDeviation();
+        double speed = Math.min(Math.max(profile.meanSpeed() + spread, profile.minSpeed()), profile.maxSpeed());
+        speed = Math.round(speed * 10) / 10.0;
+        double distance = Math.round(speed * minutes / 60.0 * 10) / 10.0;
+        return new Object[]{null, userId, new Timestamp(startMillis),
+                            new Timestamp(startMillis + TimeUnit.MINUTES.toMillis(minutes)),
+                            activity.ordinal(), distance, speed};
+    }
+
+    private int[] cumulativeWeights(ActivityType[] activities) {
+        int[] cumulative = new int[activities.length];
+        int total = 0;
+        for (int i = 0; i < activities.length; i++) {
+            total += properties.getActivityMix().get(activities[i]);
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalStateException("Activity mix needs at least one positive weight: " + properties.getActivityMix());
+        }
+        return cumulative;
+    }
+
+    private static int pick(SplittableRandom random, int[] cumulativeWeights) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (cumulativeWeights[i] <= value) {
+            i++;
+        }
+        return i;
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return (maxId != null ? maxId : 0) + 1;
+    }
+
+    private record ActivityProfile(int minMinutes, int maxMinutes, double meanSpeed, double speedDeviation,
+                                   double minSpeed, double maxSpeed) {
+    }
+}
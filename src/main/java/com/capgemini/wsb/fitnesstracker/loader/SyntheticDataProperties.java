@@ -0,0 +1,110 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "loader")
+@Getter
+class SyntheticDataProperties {
+
+    /**
+     * Number of users to generate.
+     */
+    private final int users;
+
+    /**
+     * Mean number of trainings per user.
+     */
+    private final double trainingsPerUser;
+
+    /**
+     * How the number of trainings is distributed among the users.
+     */
+    private final TrainingsDistribution trainingsDistribution;
+
+    /**
+     * First day trainings may start on; a year before {@link #to} when not set.
+     */
+    private final LocalDate from;
+
+    /**
+     * Day after the last day trainings may start on; today (UTC) when not set.
+     */
+    private final LocalDate to;
+
+    /**
+     * Relative weights of the activity types of the generated trainings.
+     */
+    private final Map<ActivityType, Integer> activityMix;
+
+    /**
+     * Seed of the generator; the same seed generates the same users and trainings.
+     */
+    private final long seed;
+
+    /**
+     * Number of users, together with their trainings, generated and inserted per transaction.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of batches generated and inserted concurrently; the number of processors when not set.
+     */
+    private final int parallelism;
+
+    SyntheticDataProperties(@DefaultValue("100") int users,
+                            @DefaultValue("10") double trainingsPerUser,
+                            @DefaultValue("EXPONENTIAL") TrainingsDistribution trainingsDistribution,
+                            @Nullable LocalDate from,
+                            @Nullable LocalDate to,
+                            @Nullable Map<ActivityType, Integer> activityMix,
+                            @DefaultValue("42") long seed,
+                            @DefaultValue("1000") int batchSize,
+                            @DefaultValue("0") int parallelism) {
+        this.users = users;
+        this.trainingsPerUser = trainingsPerUser;
+        this.trainingsDistribution = trainingsDistribution;
+        this.to = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        this.from = from != null ? from : this.to.minusYears(1);
+        this.activityMix = activityMix != null ? activityMix : defaultActivityMix();
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static Map<ActivityType, Integer> defaultActivityMix() {
+        Map<ActivityType, Integer> mix = new EnumMap<>(ActivityType.class);
+        mix.put(ActivityType.RUNNING, 40);
+        mix.put(ActivityType.CYCLING, 25);
+        mix.put(ActivityType.WALKING, 25);
+        mix.put(ActivityType.SWIMMING, 7);
+        mix.put(ActivityType.TENNIS, 3);
+        return mix;
+    }
+
+    enum TrainingsDistribution {
+
+        /**
+         * Every user has the mean number of trainings.
+         */
+        FIXED,
+
+        /**
+         * Uniformly distributed between none and twice the mean.
+         */
+        UNIFORM,
+
+        /**
+         * Geometrically distributed: most users have few trainings, a few have many.
+         */
+        EXPONENTIAL
+    }
+}
@@ -7,8 +7,10 @@ public interface EmailSender {
 
     /**
      * Sends the email message to the recipient from the provided {@link EmailDto}.
+     * The message is queued durably and delivered asynchronously, so a successful call does not mean it was delivered yet.
      *
      * @param email information on email to be sent
+     * @throws IllegalArgumentException if the content is too long to be queued
      */
     void send(EmailDto email);
 
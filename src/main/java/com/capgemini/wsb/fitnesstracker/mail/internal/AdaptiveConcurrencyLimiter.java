@@ -0,0 +1,157 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of SMTP sends in flight, adapting the limit to the SMTP relay instead of assuming its capacity.
+ * The limit follows AIMD driven by the latency gradient: a send slower than {@code latency-tolerance} times the lowest
+ * recently observed latency, or failing on the connection, multiplies the limit by {@code backoff-ratio}; other sends
+ * raise it by one per limit's worth of sends, but only while at least half of the limit is used, so an idle
+ * dispatcher does not inflate it. The limit stays between
+ * {@code mail.outbox.limiter.min-limit} and {@code mail.outbox.concurrency}.
+ * The lowest latency is forgotten every {@value #MIN_LATENCY_WINDOW} sends, so the baseline follows a relay
+ * that became slower for good.
+ */
+@Component
+class AdaptiveConcurrencyLimiter {
+
+    static final String LIMIT_METRIC = "mail.outbox.concurrency.limit";
+    static final String IN_FLIGHT_METRIC = "mail.outbox.in-flight";
+
+    private static final int MIN_LATENCY_WINDOW = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private int samples;
+
+    AdaptiveConcurrencyLimiter(MailProperties mailProperties, MeterRegistry meterRegistry) {
+        MailProperties.Limiter limiter = mailProperties.getOutbox().getLimiter();
+        this.maxLimit = mailProperties.getOutbox().getConcurrency();
+        this.minLimit = Math.min(limiter.getMinLimit(), maxLimit);
+        this.latencyTolerance = limiter.getLatencyTolerance();
+        this.backoffRatio = limiter.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(limiter.getInitialLimit(), maxLimit));
+        Gauge.builder(LIMIT_METRIC, this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Number of SMTP sends allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Number of SMTP sends in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a send slot, waiting while the limit is reached. A taken slot must be given back by exactly one of
+     * {@link #onSuccess(long)}, {@link #onDropped()} or {@link #onIgnored()}.
+     *
+     * @param timeoutNanos maximum time to wait
+     * @return true if a slot was taken, false if none became free in time
+     */
+    boolean tryAcquire(long timeoutNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            long remaining = timeoutNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the slot of a send accepted by the relay, adapting the limit to its latency.
+     *
+     * @param latencyNanos duration of the send
+     */
+    void onSuccess(long latencyNanos) {
+        lock.lock();
+        try {
+            if (++samples % MIN_LATENCY_WINDOW == 0) {
+                minLatencyNanos = latencyNanos;
+            } else {
+                minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+            }
+            if (latencyNanos > minLatencyNanos * latencyTolerance) {
+                decrease();
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the slot of a send that failed on the connection or timed out, decreasing the limit.
+     */
+    void onDropped() {
+        lock.lock();
+        try {
+            decrease();
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the slot of a send whose outcome says nothing about the load of the relay, e.g. a rejected recipient.
+     */
+    void onIgnored() {
+        lock.lock();
+        try {
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of sends allowed in flight
+     */
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    private void release() {
+        inFlight--;
+        released.signalAll();
+    }
+}
@@ -0,0 +1,133 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Durable queue of emails to be sent, backed by the {@code email_outbox} table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class EmailOutbox {
+
+    static final String SENT_METRIC = "mail.outbox.sent";
+    static final String RETRIED_METRIC = "mail.outbox.retried";
+    static final String DEAD_METRIC = "mail.outbox.dead";
+    static final String REJECTED_METRIC = "mail.outbox.rejected";
+    static final String LEASE_LOST_METRIC = "mail.outbox.lease.lost";
+
+    private final EmailOutboxRepository outboxRepository;
+    private final MailProperties mailProperties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Appends an email to the outbox, joining the caller's transaction if there is one.
+     *
+     * @param email email to be sent.
+     * @throws IllegalArgumentException if the content is longer than {@link EmailOutboxEntry#MAX_CONTENT_LENGTH}.
+     */
+    @Transactional
+    public void append(EmailDto email) {
+        if (email.content().length() > EmailOutboxEntry.MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("Email content of " + email.content().length()
+                                               + " characters exceeds the outbox limit of "
+                                               + EmailOutboxEntry.MAX_CONTENT_LENGTH + " characters");
+        }
+        EmailOutboxEntry entry = outboxRepository.save(new EmailOutboxEntry(email, clock.instant()));
+        log.debug("Email to {} appended to the outbox as {}", email.toAddress(), entry.getId());
+    }
+
+    /**
+     * Claims a batch of due emails by leasing them under a new token, so neither this nor another dispatcher
+     * picks them up again until they are completed or the lease expires.
+     *
+     * @return claim holding the emails, oldest first.
+     */
+    @Transactional
+    public Claim claimDue() {
+        MailProperties.Outbox outbox = mailProperties.getOutbox();
+        Instant now = clock.instant();
+        List<EmailOutboxEntry> due = outboxRepository.findDue(EmailOutboxEntry.Status.PENDING, now,
+                                                              PageRequest.ofSize(outbox.getBatchSize()));
+        Claim claim = new Claim(UUID.randomUUID(), now.plus(outbox.getLease()), due);
+        due.forEach(entry -> entry.lease(claim.leaseUntil(), claim.token()));
+        return claim;
+    }
+
+    /**
+     * Records the outcome of sending a claimed batch: sent emails are removed, failed ones are rescheduled
+     * with backoff or dead-lettered, rejected ones are due again right away without counting an attempt.
+     * Only emails still leased under the claim's token are touched; emails claimed again by another dispatcher
+     * after the lease expired are left to it.
+     *
+     * @param claim claim the emails were sent under.
+     * @param sentIds IDs of the emails that were sent.
+     * @param failures errors of the emails that failed, keyed by ID.
+     * @param rejectedIds IDs of the emails that were not attempted because the send limits or the batch time
+     *                    were exhausted.
+     */
+    @Transactional
+    public void complete(Claim claim, Collection<Long> sentIds, Map<Long, String> failures, Collection<Long> rejectedIds) {
+        int lost = 0;
+        if (!sentIds.isEmpty()) {
+            int deleted = outboxRepository.deleteLeased(sentIds, claim.token());
+            meterRegistry.counter(SENT_METRIC).increment(sentIds.size());
+            lost += sentIds.size() - deleted;
+        }
+        Instant now = clock.instant();
+        if (!rejectedIds.isEmpty()) {
+            List<EmailOutboxEntry> rejected = outboxRepository.findLeased(rejectedIds, claim.token());
+            rejected.forEach(entry -> entry.release(now));
+            meterRegistry.counter(REJECTED_METRIC).increment(rejectedIds.size());
+            lost += rejectedIds.size() - rejected.size();
+        }
+        if (!failures.isEmpty()) {
+            List<EmailOutboxEntry> failed = outboxRepository.findLeased(failures.keySet(), claim.token());
+            for (EmailOutboxEntry entry : failed) {
+                recordFailure(entry, failures.get(entry.getId()), now);
+            }
+            lost += failures.size() - failed.size();
+        }
+        if (lost > 0) {
+            log.warn("Lease {} of {} outbox emails expired before the batch was completed, {} of them were claimed again",
+                     claim.token(), claim.entries().size(), lost);
+            meterRegistry.counter(LEASE_LOST_METRIC).increment(lost);
+        }
+    }
+
+    private void recordFailure(EmailOutboxEntry entry, String error, Instant now) {
+        if (entry.recordFailure(error, now, mailProperties.getOutbox())) {
+            log.error("Email {} to {} dead-lettered after {} attempts: {}",
+                      entry.getId(), entry.getToAddress(), entry.getAttempts(), entry.getLastError());
+            meterRegistry.counter(DEAD_METRIC).increment();
+        } else {
+            log.warn("Email {} to {} failed, retrying at {}: {}",
+                     entry.getId(), entry.getToAddress(), entry.getNextAttemptAt(), entry.getLastError());
+            meterRegistry.counter(RETRIED_METRIC).increment();
+        }
+    }
+
+    /**
+     * Batch of emails leased by one dispatcher.
+     *
+     * @param token identifies the lease, see {@link EmailOutboxEntry#getLeaseToken()}
+     * @param leaseUntil time the lease expires at
+     * @param entries leased emails, oldest first
+     */
+    record Claim(UUID token, Instant leaseUntil, List<EmailOutboxEntry> entries) {
+    }
+}
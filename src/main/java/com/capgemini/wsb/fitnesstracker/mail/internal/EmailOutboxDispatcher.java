@@ -0,0 +1,171 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.notification.AsyncSender;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.SendFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Drains the {@link EmailOutbox} in batches. Every batch is sent by at most {@code mail.outbox.concurrency} workers
+ * on the {@code SenderExecutor}, each over a single connection of the {@link SmtpConnectionPool}, and the next batch
+ * is claimed only once the previous one is completed, so the number of emails in memory and in flight stays bounded
+ * regardless of the outbox size.
+ * Every send first takes a token of the {@link TokenBucket} capping the send rate, then a slot of the
+ * {@link AdaptiveConcurrencyLimiter} adapting the number of sends in flight to the latency and errors of the relay.
+ * Emails that get neither within {@code mail.outbox.limiter.acquire-timeout} are rejected and handed back
+ * to the outbox without counting an attempt.
+ * A batch is sent for at most half of {@code mail.outbox.lease}: emails not started by then are handed back the same
+ * way, so the batch is completed while its lease still holds and no other dispatcher sends its emails again.
+ * The outbox is polled every {@code mail.outbox.poll-interval} (ISO-8601 duration, 1 second by default). The scheduling
+ * pool has a thread per scheduled job ({@code spring.task.scheduling.pool.size}), so long-running jobs such as the
+ * monthly report do not hold up the emails.
+ */
+@Component
+@Slf4j
+class EmailOutboxDispatcher {
+
+    static final String QUEUED_METRIC = "mail.outbox.queued";
+
+    private final EmailOutbox outbox;
+    private final SmtpConnectionPool connectionPool;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final TokenBucket rateLimiter;
+    private final MailProperties mailProperties;
+    private final Executor executor;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    EmailOutboxDispatcher(EmailOutbox outbox,
+                          SmtpConnectionPool connectionPool,
+                          AdaptiveConcurrencyLimiter concurrencyLimiter,
+                          MailProperties mailProperties,
+                          MeterRegistry meterRegistry,
+                          @Qualifier(AsyncSender.SENDER_EXECUTOR) Executor executor) {
+        this.outbox = outbox;
+        this.connectionPool = connectionPool;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rateLimiter = new TokenBucket(mailProperties.getOutbox().getLimiter().getRate(),
+                                           mailProperties.getOutbox().getLimiter().getBurst(),
+                                           System::nanoTime);
+        this.mailProperties = mailProperties;
+        this.executor = executor;
+        Gauge.builder(QUEUED_METRIC, queued, AtomicInteger::get)
+                .description("Number of claimed emails waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends due emails until the outbox holds no more of them.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        EmailOutbox.Claim claim;
+        do {
+            claim = outbox.claimDue();
+            if (!claim.entries().isEmpty()) {
+                send(claim);
+            }
+        } while (claim.entries().size() == mailProperties.getOutbox().getBatchSize());
+    }
+
+    private void send(EmailOutbox.Claim claim) {
+        List<EmailOutboxEntry> batch = claim.entries();
+        long deadline = System.nanoTime() + mailProperties.getOutbox().getLease().toNanos() / 2;
+        Queue<EmailOutboxEntry> pending = new ConcurrentLinkedQueue<>(batch);
+        Set<Long> sent = ConcurrentHashMap.newKeySet();
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+        Set<Long> rejected = ConcurrentHashMap.newKeySet();
+        queued.set(batch.size());
+
+        int workerCount = Math.min(mailProperties.getOutbox().getConcurrency(), batch.size());
+        CompletableFuture.allOf(IntStream.range(0, workerCount)
+                        .mapToObj(i -> CompletableFuture.runAsync(() -> send(pending, deadline, sent, failures, rejected),
+                                                                  executor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+
+        int unsent = pending.size();
+        pending.forEach(entry -> rejected.add(entry.getId()));
+        queued.set(0);
+        log.info("Outbox batch of {} emails dispatched: {} sent, {} failed, {} rejected at concurrency limit {}, {} unsent in time",
+                 batch.size(), sent.size(), failures.size(), rejected.size() - unsent, concurrencyLimiter.getLimit(), unsent);
+        outbox.complete(claim, sent, failures, rejected);
+    }
+
+    private void send(Queue<EmailOutboxEntry> pending, long deadline,
+                      Set<Long> sent, Map<Long, String> failures, Set<Long> rejected) {
+        SmtpConnectionPool.SmtpConnection connection;
+        try {
+            connection = connectionPool.borrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            EmailOutboxEntry entry;
+            while (System.nanoTime() - deadline < 0 && (entry = pending.poll()) != null) {
+                queued.decrementAndGet();
+                if (!acquire(deadline)) {
+                    rejected.add(entry.getId());
+                    continue;
+                }
+                long start = System.nanoTime();
+                try {
+                    connection.send(connectionPool.createMessage(toMailMessage(entry)));
+                    concurrencyLimiter.onSuccess(System.nanoTime() - start);
+                    sent.add(entry.getId());
+                } catch (SendFailedException e) {
+                    concurrencyLimiter.onIgnored();
+                    failures.put(entry.getId(), String.valueOf(e.getMessage()));
+                } catch (Exception e) {
+                    concurrencyLimiter.onDropped();
+                    failures.put(entry.getId(), String.valueOf(e.getMessage()));
+                }
+            }
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    /**
+     * Takes a rate token and a send slot within the acquire timeout, but not past the batch deadline.
+     *
+     * @return true if the email may be sent, false if it has to be rejected
+     */
+    private boolean acquire(long batchDeadline) {
+        long timeout = Math.min(mailProperties.getOutbox().getLimiter().getAcquireTimeout().toNanos(),
+                                batchDeadline - System.nanoTime());
+        long deadline = System.nanoTime() + timeout;
+        try {
+            return rateLimiter.tryAcquire(deadline - System.nanoTime())
+                    && concurrencyLimiter.tryAcquire(deadline - System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private SimpleMailMessage toMailMessage(EmailOutboxEntry entry) {
+        SimpleMailMessage mailMessage = new SimpleMailMessage();
+        mailMessage.setFrom(mailProperties.getFrom());
+        mailMessage.setTo(entry.getToAddress());
+        mailMessage.setSubject(entry.getSubject());
+        mailMessage.setText(entry.getContent());
+        return mailMessage;
+    }
+}
@@ -0,0 +1,113 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Email waiting in the outbox to be sent. Entries are removed once sent; entries that failed too many times
+ * stay in the table as {@link Status#DEAD} for inspection.
+ */
+@Entity
+@Table(name = "email_outbox",
+       indexes = @Index(name = "idx_email_outbox_status_next_attempt_at", columnList = "status, next_attempt_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(exclude = "content")
+class EmailOutboxEntry {
+
+    static final int MAX_CONTENT_LENGTH = 4000;
+    static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "to_address", nullable = false)
+    private String toAddress;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "content", nullable = false, length = MAX_CONTENT_LENGTH)
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Nullable
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Nullable
+    @Column(name = "lease_token")
+    private UUID leaseToken;
+
+    EmailOutboxEntry(EmailDto email, Instant now) {
+        this.toAddress = email.toAddress();
+        this.subject = email.subject();
+        this.content = email.content();
+        this.status = Status.PENDING;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+    }
+
+    /**
+     * Hides the entry from other dispatchers until the lease expires. The token identifies the claim,
+     * so that its holder can tell whether the entry was claimed again after the lease expired.
+     */
+    void lease(Instant until, UUID token) {
+        this.nextAttemptAt = until;
+        this.leaseToken = token;
+    }
+
+    /**
+     * Gives up the lease, making the entry due again at the given time without counting an attempt.
+     */
+    void release(Instant at) {
+        this.nextAttemptAt = at;
+        this.leaseToken = null;
+    }
+
+    /**
+     * Records a failed attempt, scheduling a retry or dead-lettering the entry once the attempts are exhausted.
+     *
+     * @return true if the entry was dead-lettered
+     */
+    boolean recordFailure(String error, Instant now, MailProperties.Outbox outbox) {
+        this.attempts++;
+        this.leaseToken = null;
+        this.lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attempts >= outbox.getMaxAttempts()) {
+            this.status = Status.DEAD;
+            return true;
+        }
+        Duration backoff = outbox.backoff(attempts);
+        this.nextAttemptAt = now.plus(backoff);
+        return false;
+    }
+
+    enum Status {
+        PENDING,
+        DEAD
+    }
+}
@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntry, Long> {
+
+    /**
+     * Finds entries due for sending, oldest first, locking them until the end of the transaction
+     * so that concurrent dispatchers do not claim the same entries.
+     *
+     * @param status status of the entries, {@link EmailOutboxEntry.Status#PENDING}
+     * @param now current time
+     * @param pageable page request carrying the batch size
+     * @return {@link List} of due entries
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select e from EmailOutboxEntry e
+            where e.status = :status and e.nextAttemptAt <= :now
+            order by e.nextAttemptAt, e.id
+            """)
+    List<EmailOutboxEntry> findDue(@Param("status") EmailOutboxEntry.Status status,
+                                   @Param("now") Instant now,
+                                   Pageable pageable);
+
+    /**
+     * Finds the given entries as long as they are still leased under the given token.
+     *
+     * @param ids IDs of the entries
+     * @param leaseToken token of the claim that leased the entries
+     * @return {@link List} of entries still held by the claim
+     */
+    @Query("select e from EmailOutboxEntry e where e.id in :ids and e.leaseToken = :leaseToken")
+    List<EmailOutboxEntry> findLeased(@Param("ids") Collection<Long> ids, @Param("leaseToken") UUID leaseToken);
+
+    /**
+     * Deletes the given entries as long as they are still leased under the given token.
+     *
+     * @param ids IDs of the entries
+     * @param leaseToken token of the claim that leased the entries
+     * @return number of deleted entries
+     */
+    @Modifying
+    @Query("delete from EmailOutboxEntry e where e.id in :ids and e.leaseToken = :leaseToken")
+    int deleteLeased(@Param("ids") Collection<Long> ids, @Param("leaseToken") UUID leaseToken);
+
+    long countByStatus(EmailOutboxEntry.Status status);
+
+}
@@ -4,9 +4,6 @@ import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.stereotype.Service;
 
@@ -19,30 +16,18 @@ import org.springframework.stereotype.Service;
 @EnableScheduling
 public class EmailServiceImpl implements EmailSender {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutbox outbox;
 
     /**
-     * Sends an email asynchronously.
+     * Appends an email to the outbox. It is sent by the {@link EmailOutboxDispatcher}, with retries, even if the
+     * application is restarted in the meantime.
      *
      * @param emailDto the DTO containing the email details.
      */
     @Override
-    @Async
     public void send(EmailDto emailDto) {
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-
-        try {
-            mailMessage.setFrom("FitnessTrackerWSB@ftwsb.com");
-            mailMessage.setTo(emailDto.toAddress());
-            mailMessage.setSubject(emailDto.subject());
-            mailMessage.setText(emailDto.content());
-
-            mailSender.send(mailMessage);
-            log.info("Email was sent to {}", emailDto.toAddress());
-
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: with message: {}", emailDto.toAddress(), e.getMessage());
-        }
+        outbox.append(emailDto);
+        log.info("Email to {} was queued", emailDto.toAddress());
     }
 
 }
@@ -1,59 +1,138 @@
 package com.capgemini.wsb.fitnesstracker.mail.internal;
 
-import com.capgemini.wsb.fitnesstracker.calendar.calendarUtils;
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
-import com.capgemini.wsb.fitnesstracker.training.api.Training;
-import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollupProvider;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionChunk;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionHandler;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionedJobExecutor;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Component for generating and sending monthly training summary emails.
+ * Every instance takes part in the monthly run: the user ID space is split into partitions that are claimed
+ * by the instances through the {@link PartitionedJobExecutor}, so the report scales with the number of instances
+ * and every user receives a single summary per month.
  */
 @Component
 @RequiredArgsConstructor
 @EnableAsync
 @EnableScheduling
+@Slf4j
 public class EmailTrainingReport {
 
+    static final String JOB_NAME = "monthly-training-report";
+    static final int USER_CHUNK_SIZE = 500;
+
+    static final String DURATION_METRIC = "fitnesstracker.report.monthly.duration";
+    static final String USERS_METRIC = "fitnesstracker.report.monthly.users";
+    static final String TRAININGS_METRIC = "fitnesstracker.report.monthly.trainings";
+
     private final UserProvider userProvider;
-    private final TrainingProvider trainingProvider;
+    private final TrainingRollupProvider trainingRollupProvider;
     private final EmailSender emailSender;
+    private final PartitionedJobExecutor partitionedJobExecutor;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Generates and sends a summary of monthly training for all users.
-     * This method is scheduled to run at 00:00 on the 1st day of every month.
+     * This method is scheduled to run at 00:00 on the 1st day of every month, on every instance.
+     * The run of the previous calendar month (UTC) is split into partitions of the user ID space; this instance
+     * processes partitions until none is left. Training counts of all users are read from the monthly rollups
+     * by a single grouped query, then the users of each partition are read in ID-ordered chunks.
+     * Emails of a chunk are appended to the outbox in the transaction recording the chunk as the checkpoint
+     * of its partition, so they are queued once per user and a partition taken over from a failed instance
+     * continues after its last committed chunk.
      */
     @Scheduled(cron = "0 0 0 1 * ?")
     public void generateSummaryOfMonthlyTraining() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        String runKey = YearMonth.now(ZoneOffset.UTC).minusMonths(1).toString();
+        MonthlySummary summary = new MonthlySummary();
+        int partitions = partitionedJobExecutor.run(JOB_NAME, runKey,
+                                                    () -> userProvider.findHighestUserId().orElse(0L),
+                                                    summary);
+
+        long durationNanos = sample.stop(meterRegistry.timer(DURATION_METRIC));
+        log.info("Monthly training summary of {} sent to {} users covering {} trainings from {} partitions in {} ms",
+                 runKey, summary.usersScanned, summary.trainingsScanned, partitions, durationNanos / 1_000_000);
+    }
+
+    /**
+     * Sends the summaries of partitions left unfinished by failed runs, e.g. when an instance stopped midway.
+     */
+    @Scheduled(fixedDelayString = "${scheduling.resume-interval:PT5M}",
+               initialDelayString = "${scheduling.resume-interval:PT5M}")
+    public void resumeSummaryOfMonthlyTraining() {
+        MonthlySummary summary = new MonthlySummary();
+        if (partitionedJobExecutor.resume(JOB_NAME, summary) > 0) {
+            log.info("Resumed monthly training summary sent to {} users", summary.usersScanned);
+        }
+    }
 
-        List<User> users = userProvider.findAllUsers();
-        Date startOfLastMonth = calendarUtils.getStartOfLastMonth();
-        Date endOfLastMonth = calendarUtils.getEndOfLastMonth();
+    private void sendSummary(User user, long trainingsCount) {
+        String subject = "Monthly Training Summary";
+        String trainingWord = (trainingsCount == 1) ? "training" : "trainings";
 
-        for (User user : users) {
+        String content = "Congratulations " + user.getFirstName() + " " + user.getLastName() + " you have finished " + trainingsCount + " " + trainingWord + " last month!";
 
-            List<Training> trainingsForUser = trainingProvider.findByUserIdFromLastMonth(user.getId(), startOfLastMonth, endOfLastMonth);
+        EmailDto email = new EmailDto(user.getEmail(), subject, content);
 
-            int trainingsCount = trainingsForUser.size();
-            String subject = "Monthly Training Summary";
-            String trainingWord = (trainingsCount == 1) ? "training" : "trainings";
+        emailSender.send(email);
+    }
+
+    /**
+     * Sends the summaries of the users of every chunk it is handed, reading the training counts
+     * of a month once for all chunks of its run.
+     */
+    private final class MonthlySummary implements PartitionHandler {
 
-            String content = "Congratulations " + user.getFirstName() + " " + user.getLastName() + " you have finished " + trainingsCount + " " + trainingWord + " last month!";
+        private final Map<String, Map<Long, Long>> trainingCountsByMonth = new HashMap<>();
+        private long usersScanned;
+        private long trainingsScanned;
 
-            EmailDto email = new EmailDto(user.getEmail(), subject, content);
+        @Override
+        public PartitionChunk processChunk(String runKey, long afterId, long toId) {
+            Map<Long, Long> trainingCounts = trainingCountsByMonth.computeIfAbsent(runKey, month ->
+                    trainingRollupProvider.countTrainingsPerUser(BucketGranularity.MONTH, YearMonth.parse(month).atDay(1)));
 
-            emailSender.send(email);
+            List<User> page = userProvider.findUsersPage(afterId, USER_CHUNK_SIZE);
+            int users = 0;
+            long trainings = 0;
+            long lastId = afterId;
+            for (User user : page) {
+                if (user.getId() > toId) {
+                    break;
+                }
+                long trainingsCount = trainingCounts.getOrDefault(user.getId(), 0L);
+                sendSummary(user, trainingsCount);
+                users++;
+                trainings += trainingsCount;
+                lastId = user.getId();
+            }
 
+            usersScanned += users;
+            trainingsScanned += trainings;
+            meterRegistry.counter(USERS_METRIC).increment(users);
+            meterRegistry.counter(TRAININGS_METRIC).increment(trainings);
+            return new PartitionChunk(users < USER_CHUNK_SIZE ? toId : lastId, users);
         }
     }
 }
@@ -2,16 +2,17 @@ package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.time.Duration;
+
 /**
  * Configuration of the {@link EmailSender} (additional to the Spring mail configuration for {@link JavaMailSender} bean autoconfiguration).
  */
 @ConfigurationProperties(prefix = "mail")
 @Getter
-@RequiredArgsConstructor
 class MailProperties {
 
     /**
@@ -19,4 +20,143 @@ class MailProperties {
      */
     private final String from;
 
+    /**
+     * Configuration of the email outbox dispatcher.
+     */
+    private final Outbox outbox;
+
+    MailProperties(@DefaultValue("FitnessTrackerWSB@ftwsb.com") String from, @DefaultValue Outbox outbox) {
+        this.from = from;
+        this.outbox = outbox;
+    }
+
+    @Getter
+    static class Outbox {
+
+        /**
+         * Maximum number of emails claimed from the outbox at once.
+         */
+        private final int batchSize;
+
+        /**
+         * Maximum number of emails being sent at the same time, which is also the number of pooled SMTP connections.
+         * The number actually in flight is adapted below it by the {@link AdaptiveConcurrencyLimiter}.
+         */
+        private final int concurrency;
+
+        /**
+         * Number of messages sent over a pooled SMTP connection before it is closed and reopened.
+         */
+        private final int messagesPerConnection;
+
+        /**
+         * Number of failed attempts after which an email is dead-lettered.
+         */
+        private final int maxAttempts;
+
+        /**
+         * Delay before the first retry, doubled with every following failure.
+         */
+        private final Duration initialBackoff;
+
+        /**
+         * Upper bound of the delay between retries.
+         */
+        private final Duration maxBackoff;
+
+        /**
+         * Time for which claimed emails are hidden from other dispatchers; emails of a dispatcher that died
+         * while sending become due again after it passes. A batch is sent for at most half of it, emails not sent
+         * by then are handed back to the outbox.
+         */
+        private final Duration lease;
+
+        /**
+         * Adaptive limits of the sends in flight and of the send rate.
+         */
+        private final Limiter limiter;
+
+        Outbox(@DefaultValue("100") int batchSize,
+               @DefaultValue("5") int concurrency,
+               @DefaultValue("100") int messagesPerConnection,
+               @DefaultValue("5") int maxAttempts,
+               @DefaultValue("30s") Duration initialBackoff,
+               @DefaultValue("1h") Duration maxBackoff,
+               @DefaultValue("5m") Duration lease,
+               @DefaultValue Limiter limiter) {
+            this.batchSize = batchSize;
+            this.concurrency = concurrency;
+            this.messagesPerConnection = messagesPerConnection;
+            this.maxAttempts = maxAttempts;
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            this.lease = lease;
+            this.limiter = limiter;
+        }
+
+        /**
+         * @param attempts number of failed attempts so far, at least 1
+         * @return delay before the next attempt
+         */
+        Duration backoff(int attempts) {
+            Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+            return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+        }
+    }
+
+    @Getter
+    static class Limiter {
+
+        /**
+         * Number of sends allowed in flight before any latency was observed.
+         */
+        private final int initialLimit;
+
+        /**
+         * Lowest number of sends allowed in flight, however slow or failing the SMTP relay is.
+         */
+        private final int minLimit;
+
+        /**
+         * Factor by which a send may exceed the lowest observed latency before the limit is decreased.
+         */
+        private final double latencyTolerance;
+
+        /**
+         * Factor the limit is multiplied with on a slow or failed send.
+         */
+        private final double backoffRatio;
+
+        /**
+         * Maximum time an email waits for a send slot or a rate token; emails still waiting are rejected
+         * and handed back to the outbox without counting an attempt.
+         */
+        private final Duration acquireTimeout;
+
+        /**
+         * Maximum number of messages sent per second, 0 for no limit.
+         */
+        private final double rate;
+
+        /**
+         * Number of messages that may be sent at once after an idle period, without waiting for the rate.
+         */
+        private final int burst;
+
+        Limiter(@DefaultValue("2") int initialLimit,
+                @DefaultValue("1") int minLimit,
+                @DefaultValue("2.0") double latencyTolerance,
+                @DefaultValue("0.9") double backoffRatio,
+                @DefaultValue("30s") Duration acquireTimeout,
+                @DefaultValue("0") double rate,
+                @DefaultValue("10") int burst) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.latencyTolerance = latencyTolerance;
+            this.backoffRatio = backoffRatio;
+            this.acquireTimeout = acquireTimeout;
+            this.rate = rate;
+            this.burst = burst;
+        }
+    }
 }
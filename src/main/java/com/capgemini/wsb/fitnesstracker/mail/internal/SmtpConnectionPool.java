@@ -0,0 +1,146 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import jakarta.annotation.Nullable;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed pool of long-lived SMTP connections, so that the connection setup, STARTTLS and AUTH are paid once per
+ * {@code mail.outbox.messages-per-connection} messages instead of once per message as with
+ * {@link JavaMailSenderImpl#send(SimpleMailMessage)}. The pool holds {@code mail.outbox.concurrency} connections;
+ * borrowers block while all of them are in use. Connections are opened lazily and recycled after the configured
+ * number of messages, after a connection-level failure, or when the server dropped them.
+ */
+@Component
+@Slf4j
+class SmtpConnectionPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final int messagesPerConnection;
+    private final List<SmtpConnection> connections;
+    private final BlockingQueue<SmtpConnection> idle;
+    private final AtomicInteger openedConnections = new AtomicInteger();
+
+    SmtpConnectionPool(JavaMailSenderImpl mailSender, MailProperties mailProperties) {
+        this.mailSender = mailSender;
+        this.messagesPerConnection = mailProperties.getOutbox().getMessagesPerConnection();
+        int size = mailProperties.getOutbox().getConcurrency();
+        this.connections = new ArrayList<>(size);
+        this.idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            SmtpConnection connection = new SmtpConnection();
+            connections.add(connection);
+            idle.add(connection);
+        }
+    }
+
+    /**
+     * Takes a connection from the pool, waiting until one is available.
+     * It must be handed back with {@link #release(SmtpConnection)}.
+     */
+    SmtpConnection borrow() throws InterruptedException {
+        return idle.take();
+    }
+
+    void release(SmtpConnection connection) {
+        idle.add(connection);
+    }
+
+    /**
+     * Creates a MIME message bound to the session of the pooled connections.
+     */
+    MimeMessage createMessage(SimpleMailMessage message) {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        message.copyTo(new MimeMailMessage(mimeMessage));
+        return mimeMessage;
+    }
+
+    /**
+     * @return number of SMTP connections opened since the pool was created, including reopened ones
+     */
+    int getOpenedConnections() {
+        return openedConnections.get();
+    }
+
+    @Override
+    public void destroy() {
+        connections.forEach(SmtpConnection::close);
+    }
+
+    /**
+     * Single SMTP connection. Not thread safe, it is used only by the thread that borrowed it.
+     */
+    class SmtpConnection {
+
+        @Nullable
+        private Transport transport;
+        private int sent;
+
+        /**
+         * Sends the message over this connection, (re)connecting first if needed.
+         *
+         * @throws MessagingException if the message was not accepted
+         */
+        void send(MimeMessage message) throws MessagingException {
+            Transport connected = connect();
+            try {
+                String messageId = message.getMessageID();
+                message.saveChanges();
+                if (messageId != null) {
+                    message.setHeader("Message-ID", messageId);
+                }
+                connected.sendMessage(message, message.getAllRecipients());
+                sent++;
+            } catch (SendFailedException e) {
+                // rejected recipients, the connection itself is still usable
+                sent++;
+                throw e;
+            } catch (MessagingException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private Transport connect() throws MessagingException {
+            if (transport != null && (sent >= messagesPerConnection || !transport.isConnected())) {
+                close();
+            }
+            if (transport == null) {
+                Transport opened = mailSender.getSession().getTransport(
+                        mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+                opened.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+                transport = opened;
+                sent = 0;
+                openedConnections.incrementAndGet();
+                log.debug("SMTP connection to {} opened", mailSender.getHost());
+            }
+            return transport;
+        }
+
+        void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP connection: {}", e.getMessage());
+            }
+            transport = null;
+        }
+    }
+}
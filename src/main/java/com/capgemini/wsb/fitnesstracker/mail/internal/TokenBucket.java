@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the rate of SMTP sends at {@code mail.outbox.limiter.rate} messages per second, letting up to
+ * {@code mail.outbox.limiter.burst} messages through at once after an idle period.
+ * Tokens are refilled lazily from the elapsed time. A caller that has to wait reserves its token up front,
+ * so concurrent callers are served in turn instead of racing for every refilled token.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param rate tokens per second, 0 or less for no limit
+     * @param burst maximum number of stored tokens
+     * @param nanoTime source of {@link System#nanoTime()}
+     */
+    TokenBucket(double rate, int burst, LongSupplier nanoTime) {
+        this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(burst, 1);
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes a token, waiting for it to be refilled if needed.
+     *
+     * @param timeoutNanos maximum time to wait
+     * @return true if a token was taken, false if it would not be refilled in time
+     */
+    boolean tryAcquire(long timeoutNanos) throws InterruptedException {
+        if (tokensPerNano <= 0) {
+            return true;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = nanoTime.getAsLong();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            waitNanos = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+            if (waitNanos > timeoutNanos) {
+                return false;
+            }
+            tokens--;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+}
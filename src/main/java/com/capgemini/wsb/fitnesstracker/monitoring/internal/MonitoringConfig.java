@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+class MonitoringConfig {
+
+    /**
+     * Wraps the data source into a proxy reporting statements and fetched rows to the {@link SqlStatementCounter}.
+     * Static and resolving its dependencies lazily, so the post processor does not initialize beans early.
+     */
+    @Bean
+    static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor(ObjectProvider<SqlMonitoringProperties> properties,
+                                                                         ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !properties.getObject().isEnabled()) {
+                    return bean;
+                }
+                SqlStatementCounter listener = counter.getObject();
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+}
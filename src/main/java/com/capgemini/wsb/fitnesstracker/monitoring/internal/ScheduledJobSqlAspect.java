@@ -0,0 +1,35 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the statements of every run of a scheduled job, named after the scheduled method.
+ * Runs started from within a request, e.g. in tests, are part of the request.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+class ScheduledJobSqlAspect {
+
+    private final SqlStatementCounter counter;
+    private final SqlMonitoringProperties properties;
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+    Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlStatementCounter.Unit unit = properties.isEnabled() ? counter.begin() : null;
+        if (unit == null) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            counter.end(unit, "job", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName()
+                                     + "." + joinPoint.getSignature().getName());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every call of the service APIs of the modules, tagged by the implementing class, the method and the outcome,
+ * and publishes percentile histograms so percentiles can be aggregated across instances by the scraping side.
+ * Repository methods are timed by Spring Data as {@code spring.data.repository.invocations}.
+ * Only calls through the Spring proxies are timed, calls within a service are part of the calling method.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+class ServiceMetricsAspect {
+
+    static final String METRIC = "fitnesstracker.service.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider.*(..))"
+            + " || execution(* com.capgemini.wsb.fitnesstracker.training.api.TrainingService.*(..))"
+            + " || execution(* com.capgemini.wsb.fitnesstracker.user.api.UserProvider.*(..))"
+            + " || execution(* com.capgemini.wsb.fitnesstracker.user.api.UserService.*(..))"
+            + " || execution(* com.capgemini.wsb.fitnesstracker.mail.api.EmailSender.*(..))")
+    Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                                .description("Calls of the service APIs")
+                                .tag("class", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName())
+                                .tag("method", joinPoint.getSignature().getName())
+                                .tag("outcome", "none".equals(exception) ? "SUCCESS" : "ERROR")
+                                .tag("exception", exception)
+                                .publishPercentileHistogram()
+                                .register(meterRegistry));
+        }
+    }
+}
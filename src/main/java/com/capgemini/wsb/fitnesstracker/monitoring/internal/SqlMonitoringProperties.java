@@ -0,0 +1,34 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "monitoring.sql")
+@Getter
+class SqlMonitoringProperties {
+
+    /**
+     * Whether the data source is proxied to count the statements of HTTP requests and scheduled jobs.
+     */
+    private final boolean enabled;
+
+    /**
+     * Whether responses carry the statement count, fetched rows and JDBC time of their request as headers;
+     * meant for debugging, as it reveals details of the database access to clients.
+     */
+    private final boolean responseHeaders;
+
+    /**
+     * Number of executions of the same statement shape within a request or job above which a warning is logged.
+     */
+    private final int repeatedStatementThreshold;
+
+    SqlMonitoringProperties(@DefaultValue("true") boolean enabled,
+                            @DefaultValue("false") boolean responseHeaders,
+                            @DefaultValue("10") int repeatedStatementThreshold) {
+        this.enabled = enabled;
+        this.responseHeaders = responseHeaders;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+}
@@ -0,0 +1,180 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the statements, fetched rows and JDBC time of a unit of work, an HTTP request or a scheduled job,
+ * from the events of the proxied data source. A unit covers the statements of the thread that started it;
+ * work handed to other threads is not attributed to it.
+ * Once a unit ends, its totals are published as metrics tagged by the kind and name of the unit, and statements
+ * repeated more often than {@link SqlMonitoringProperties#getRepeatedStatementThreshold()} times are logged,
+ * as they usually point at entities or rows loaded one at a time (N+1 selects).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class SqlStatementCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    static final String STATEMENTS_METRIC = "fitnesstracker.sql.statements";
+    static final String ROWS_METRIC = "fitnesstracker.sql.rows";
+    static final String TIME_METRIC = "fitnesstracker.sql.time";
+    static final String REPEATED_METRIC = "fitnesstracker.sql.repeated";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Unit> CURRENT = new ThreadLocal<>();
+
+    private final SqlMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Starts counting the statements of the current thread, unless a unit is already counted on it.
+     *
+     * @return the started unit, or {@code null} when the thread already counts an enclosing unit
+     */
+    @Nullable
+    Unit begin() {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        Unit unit = new Unit();
+        CURRENT.set(unit);
+        return unit;
+    }
+
+    /**
+     * @return the unit counted on the current thread, if any
+     */
+    @Nullable
+    Unit current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops counting the unit, publishes its totals and logs the statements it repeated too often.
+     *
+     * @param unit unit returned by {@link #begin()}
+     * @param kind kind of the unit, {@code http} or {@code job}
+     * @param name name of the unit, e.g. the request mapping or the scheduled method
+     */
+    void end(Unit unit, String kind, String name) {
+        CURRENT.remove();
+        Tags tags = Tags.of("kind", kind, "name", name);
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("Statements executed per HTTP request or scheduled job")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(unit.statements);
+        DistributionSummary.builder(ROWS_METRIC)
+                .description("Rows fetched per HTTP request or scheduled job")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(unit.rows);
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing statements per HTTP request or scheduled job")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(unit.jdbcNanos, TimeUnit.NANOSECONDS);
+
+        unit.executionsByShape.forEach((shape, executions) -> {
+            if (executions > properties.getRepeatedStatementThreshold()) {
+                log.warn("{} {} executed the same statement {} times, possibly N+1 queries: {}", kind, name, executions, shape);
+                meterRegistry.counter(REPEATED_METRIC, tags).increment();
+            }
+        });
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Unit unit = CURRENT.get();
+        if (unit != null) {
+            unit.statementStartNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Unit unit = CURRENT.get();
+        if (unit == null) {
+            return;
+        }
+        unit.jdbcNanos += System.nanoTime() - unit.statementStartNanos;
+        for (QueryInfo query : queryInfoList) {
+            unit.statements++;
+            unit.executionsByShape.merge(shapeOf(query.getQuery()), 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            Unit unit = CURRENT.get();
+            if (unit != null) {
+                unit.rows++;
+            }
+        }
+    }
+
+    /**
+     * @return the statement with literals and parameter lists replaced, so executions differing only in their
+     * values share a shape
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Totals of a unit of work, only accessed by the thread counting it.
+     */
+    static final class Unit {
+
+        private final Map<String, Integer> executionsByShape = new HashMap<>();
+        private long statementStartNanos;
+        private int statements;
+        private long rows;
+        private long jdbcNanos;
+
+        int getStatements() {
+            return statements;
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        long getJdbcNanos() {
+            return jdbcNanos;
+        }
+    }
+}
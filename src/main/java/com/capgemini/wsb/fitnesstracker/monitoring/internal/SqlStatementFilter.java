@@ -0,0 +1,104 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements of every HTTP request. With {@link SqlMonitoringProperties#isResponseHeaders()} the totals
+ * are added to the response as headers, set when the response body starts, so statements issued while the body
+ * is written, e.g. by lazy loading or streaming, appear in the metrics only.
+ */
+@Component
+@RequiredArgsConstructor
+class SqlStatementFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+    static final String TIME_HEADER = "X-SQL-Time-Millis";
+
+    private final SqlStatementCounter counter;
+    private final SqlMonitoringProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Unit unit = counter.begin();
+        if (unit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        HeadersResponseWrapper wrapper = properties.isResponseHeaders() ? new HeadersResponseWrapper(response, unit) : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+            if (wrapper != null) {
+                wrapper.addSqlHeaders();
+            }
+        } finally {
+            counter.end(unit, "http", nameOf(request));
+        }
+    }
+
+    private static String nameOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+
+    /**
+     * Adds the totals counted so far once the body is about to be written, or after the request for bodiless responses.
+     */
+    private static final class HeadersResponseWrapper extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Unit unit;
+        private boolean headersAdded;
+
+        HeadersResponseWrapper(HttpServletResponse response, SqlStatementCounter.Unit unit) {
+            super(response);
+            this.unit = unit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addSqlHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addSqlHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addSqlHeaders();
+            super.flushBuffer();
+        }
+
+        void addSqlHeaders() {
+            if (headersAdded || isCommitted()) {
+                return;
+            }
+            headersAdded = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(unit.getStatements()));
+            setHeader(ROWS_HEADER, String.valueOf(unit.getRows()));
+            setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(unit.getJdbcNanos())));
+        }
+    }
+}
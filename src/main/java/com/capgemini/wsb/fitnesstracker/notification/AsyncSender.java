@@ -1,26 +1,61 @@
 package com.capgemini.wsb.fitnesstracker.notification;
 
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
+/**
+ * Provides the {@code SenderExecutor} used for {@code @Async} methods and for sending emails.
+ * By default it is a bounded pool of platform threads. With {@code spring.threads.virtual.enabled=true} on Java 21
+ * or newer every task gets its own virtual thread instead, and the pool size is replaced by a concurrency limit,
+ * so blocking SMTP and database calls do not need a platform thread each. On older Java versions the property
+ * is ignored and the platform pool is used.
+ */
 @Configuration
 @EnableAsync
+@EnableConfigurationProperties(SenderProperties.class)
 public class AsyncSender implements AsyncConfigurer {
 
+    public static final String SENDER_EXECUTOR = "SenderExecutor";
+
+    private final BeanFactory beanFactory;
+
+    public AsyncSender(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
     @Override
-    @Bean(name = "SenderExecutor")
     public Executor getAsyncExecutor() {
+        return beanFactory.getBean(SENDER_EXECUTOR, Executor.class);
+    }
+
+    @Bean(name = SENDER_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformSenderExecutor(SenderProperties senderProperties) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5); // Each Core sends mail to one user - max 5 due to free plan on mock mail service.
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(1000);
+        executor.setCorePoolSize(senderProperties.getCorePoolSize()); // SMTP sends in flight are limited adaptively by the mail outbox, not by the pool
+        executor.setMaxPoolSize(senderProperties.getMaxPoolSize());
+        executor.setQueueCapacity(senderProperties.getQueueCapacity());
         executor.setThreadNamePrefix("AsyncEmailSender");
-        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = SENDER_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualSenderExecutor(SenderProperties senderProperties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("AsyncEmailSender");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(senderProperties.getVirtualConcurrencyLimit());
+        executor.setTaskTerminationTimeout(10_000);
         return executor;
     }
 }
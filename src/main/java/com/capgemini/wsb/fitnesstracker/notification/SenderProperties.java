@@ -0,0 +1,47 @@
+package com.capgemini.wsb.fitnesstracker.notification;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@code SenderExecutor} created by {@link AsyncSender}.
+ * The pool settings apply to the platform-thread executor, the concurrency limit to the virtual-thread one,
+ * enabled with {@code spring.threads.virtual.enabled=true} on a Java 21 or newer runtime.
+ * The project targets Java 17, where the setting has no effect: the platform pool is used
+ * and {@link #virtualConcurrencyLimit} is ignored.
+ */
+@ConfigurationProperties(prefix = "notification.sender")
+@Getter
+public class SenderProperties {
+
+    /**
+     * Number of platform threads kept alive.
+     */
+    private final int corePoolSize;
+
+    /**
+     * Maximum number of platform threads, reached only once the queue is full.
+     */
+    private final int maxPoolSize;
+
+    /**
+     * Number of tasks waiting for a platform thread.
+     */
+    private final int queueCapacity;
+
+    /**
+     * Maximum number of tasks running at the same time on virtual threads; further submitters block until a task finishes.
+     */
+    private final int virtualConcurrencyLimit;
+
+    public SenderProperties(@DefaultValue("5") int corePoolSize,
+                            @DefaultValue("50") int maxPoolSize,
+                            @DefaultValue("1000") int queueCapacity,
+                            @DefaultValue("200") int virtualConcurrencyLimit) {
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.queueCapacity = queueCapacity;
+        this.virtualConcurrencyLimit = virtualConcurrencyLimit;
+    }
+}
@@ -0,0 +1,49 @@
+package com.capgemini.wsb.fitnesstracker.pagination.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used by keyset pagination.
+ * A cursor carries the sort key values of the last row of the previous page.
+ */
+public final class Cursors {
+
+    private static final String SEPARATOR = ":";
+
+    private Cursors() {
+    }
+
+    /**
+     * Encodes the sort key values into an URL-safe cursor.
+     *
+     * @param values sort key values of the last returned row
+     * @return opaque cursor
+     */
+    public static String encode(long... values) {
+        String joined = String.join(SEPARATOR, Arrays.stream(values).mapToObj(Long::toString).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the cursor back into the sort key values.
+     *
+     * @param cursor         cursor returned by {@link #encode(long...)}
+     * @param expectedValues number of sort key values the cursor must contain
+     * @return sort key values of the last row of the previous page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static long[] decode(String cursor, int expectedValues) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            long[] values = Arrays.stream(joined.split(SEPARATOR)).mapToLong(Long::parseLong).toArray();
+            if (values.length != expectedValues) {
+                throw new InvalidCursorException(cursor);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.capgemini.wsb.fitnesstracker.pagination.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+
+/**
+ * Exception indicating that the pagination cursor could not be decoded.
+ */
+public class InvalidCursorException extends BusinessException {
+
+    public InvalidCursorException(String cursor) {
+        super("Cursor=%s is invalid".formatted(cursor));
+    }
+}
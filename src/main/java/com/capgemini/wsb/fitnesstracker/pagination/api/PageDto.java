@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.pagination.api;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Single page of a keyset-paginated listing.
+ *
+ * @param content items of the page
+ * @param next    opaque cursor of the following page, {@code null} if this is the last page
+ * @param <T>     type of the page items
+ */
+public record PageDto<T>(
+        List<T> content,
+        @Nullable
+        String next) {
+
+    /**
+     * Builds a page from rows fetched with a limit one greater than the page size.
+     * The extra row, if present, is not returned and only signals that another page exists.
+     *
+     * @param rows     rows fetched from the database, at most {@code pageSize + 1}
+     * @param pageSize requested page size
+     * @param mapper   mapper of the rows to the page items
+     * @param cursorOf function encoding the cursor pointing right after the given row
+     * @param <E>      type of the fetched rows
+     * @param <T>      type of the page items
+     * @return page with the cursor of the following page, if any
+     */
+    public static <E, T> PageDto<T> of(List<E> rows, int pageSize, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        return new PageDto<>(pageRows.stream().map(mapper).toList(),
+                             hasNext ? cursorOf.apply(pageRows.get(pageSize - 1)) : null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.capgemini.wsb.fitnesstracker.pagination.api;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the page sizes served by the paginated endpoints.
+ */
+@ConfigurationProperties(prefix = "pagination")
+@Getter
+public class PaginationProperties {
+
+    /**
+     * Page size used when the client does not request one.
+     */
+    private final int defaultPageSize;
+
+    /**
+     * Upper bound of the page size a client may request.
+     */
+    private final int maxPageSize;
+
+    public PaginationProperties(@DefaultValue("50") int defaultPageSize, @DefaultValue("500") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Resolves the page size requested by the client, clamped to {@code [1, maxPageSize]}.
+     *
+     * @param requested page size requested by the client, {@code null} if none
+     * @return page size to be used
+     */
+    public int resolvePageSize(@Nullable Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+}
@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.pagination.internal;
+
+import com.capgemini.wsb.fitnesstracker.pagination.api.PaginationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PaginationProperties.class)
+class PaginationConfig {
+}
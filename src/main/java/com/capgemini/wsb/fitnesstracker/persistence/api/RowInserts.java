@@ -0,0 +1,54 @@
+package com.capgemini.wsb.fitnesstracker.persistence.api;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Creates rows that concurrent transactions may be creating at the same time, such as the first aggregate
+ * of a user. A pessimistic lock cannot be taken on a row that does not exist yet, so callers insert the row
+ * with {@link #insertIfAbsent(EntityManager, String, Object...)} first and then lock it.
+ */
+public final class RowInserts {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private RowInserts() {
+    }
+
+    /**
+     * Runs the insert in the current transaction, ignoring it if the row already exists. A row inserted
+     * by a concurrent transaction that has not committed yet is waited for by the database.
+     * Pending changes are flushed first, so the insert may refer to rows written earlier in the transaction.
+     * The insert is issued over JDBC under a savepoint, so a duplicate key neither rolls back the transaction
+     * nor leaves the persistence context or the second-level cache inconsistent.
+     *
+     * @param entityManager entity manager bound to the current transaction
+     * @param sql insert statement with {@code ?} placeholders, leaving the aggregated columns at zero
+     * @param parameters values of the placeholders, in order
+     * @return true if the row was inserted, false if it already existed
+     */
+    public static boolean insertIfAbsent(EntityManager entityManager, String sql, Object... parameters) {
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    return false;
+                }
+                throw e;
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Date;
+
+/**
+ * Length of the period covered by a single {@link TrainingRollup}.
+ * Buckets are aligned to calendar days, ISO weeks starting on Monday and calendar months, all in UTC.
+ */
+public enum BucketGranularity {
+
+    DAY {
+        @Override
+        public LocalDate bucketStart(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate nextBucketStart(LocalDate bucketStart) {
+            return bucketStart.plusDays(1);
+        }
+    },
+    WEEK {
+        @Override
+        public LocalDate bucketStart(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate nextBucketStart(LocalDate bucketStart) {
+            return bucketStart.plusWeeks(1);
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDate bucketStart(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate nextBucketStart(LocalDate bucketStart) {
+            return bucketStart.plusMonths(1);
+        }
+    };
+
+    /**
+     * @param date day within the bucket.
+     * @return first day of the bucket containing the given day.
+     */
+    public abstract LocalDate bucketStart(LocalDate date);
+
+    /**
+     * @param bucketStart first day of a bucket.
+     * @return first day of the following bucket.
+     */
+    public abstract LocalDate nextBucketStart(LocalDate bucketStart);
+
+    /**
+     * @param time point in time.
+     * @return first day of the bucket containing the given point in time.
+     */
+    public LocalDate bucketStart(Date time) {
+        return bucketStart(LocalDate.ofInstant(time.toInstant(), ZoneOffset.UTC));
+    }
+
+    /**
+     * @param day day in UTC.
+     * @return the first instant of the given day.
+     */
+    public static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
@@ -0,0 +1,77 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of the trainings of a single user and activity type that ended within a single bucket of time.
+ * Rollups are maintained together with the trainings, so reports read one row per bucket instead of every training.
+ * The unique key also serves the lookups of a user's buckets in time order.
+ */
+@Entity
+@Table(name = "training_rollup", uniqueConstraints = @UniqueConstraint(
+        name = "uk_training_rollup_bucket",
+        columnNames = {"user_id", "bucket_granularity", "bucket_start", "activity_type"}))
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TrainingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_rollup_seq")
+    @SequenceGenerator(name = "training_rollup_seq", sequenceName = "training_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityType activityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket_granularity", nullable = false, length = 8)
+    private BucketGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(name = "count", nullable = false)
+    private long count;
+
+    @Column(name = "total_distance", nullable = false)
+    private double totalDistance;
+
+    /**
+     * Sum of the durations of the trainings, in milliseconds.
+     */
+    @Column(name = "total_duration", nullable = false)
+    private long totalDuration;
+
+    @Column(name = "max_speed", nullable = false)
+    private double maxSpeed;
+
+    public TrainingRollup(Long userId, ActivityType activityType, BucketGranularity granularity, LocalDate bucketStart) {
+        this.userId = userId;
+        this.activityType = activityType;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+    }
+}
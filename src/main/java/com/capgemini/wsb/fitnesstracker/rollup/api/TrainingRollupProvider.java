@@ -0,0 +1,37 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface for reading pre-aggregated training totals.
+ */
+public interface TrainingRollupProvider {
+
+    /**
+     * Retrieves the rollups of a user whose buckets start within the given period.
+     *
+     * @param userId ID of the user.
+     * @param granularity length of the buckets.
+     * @param from first day of the period, inclusive.
+     * @param to last day of the period, inclusive.
+     * @param activityType activity type to restrict the rollups to, {@code null} for all of them.
+     * @return list of rollups ordered by bucket start and activity type.
+     */
+    List<TrainingRollup> findRollups(Long userId, BucketGranularity granularity, LocalDate from, LocalDate to,
+                                     @Nullable ActivityType activityType);
+
+    /**
+     * Counts trainings of every user within a single bucket, summing the rollups of all activity types.
+     *
+     * @param granularity length of the bucket.
+     * @param bucketStart first day of the bucket.
+     * @return number of trainings keyed by user ID; users without trainings in the bucket are absent.
+     */
+    Map<Long, Long> countTrainingsPerUser(BucketGranularity granularity, LocalDate bucketStart);
+
+}
@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller exposing pre-aggregated training totals.
+ */
+@RestController
+@RequestMapping("/v1/trainings/rollups")
+@RequiredArgsConstructor
+class TrainingRollupController {
+
+    private final TrainingRollupServiceImpl trainingRollupService;
+    private final TrainingRollupMapper trainingRollupMapper;
+
+    /**
+     * Gets the training totals of a user per bucket of time.
+     *
+     * @param userId ID of the user.
+     * @param granularity length of the buckets, months by default.
+     * @param from first day of the period, inclusive; buckets are matched by their first day.
+     * @param to last day of the period, inclusive.
+     * @param activityType activity type to restrict the totals to, all of them if absent.
+     * @return list of {@link TrainingRollupDto} ordered by bucket start and activity type.
+     */
+    @GetMapping
+    public List<TrainingRollupDto> getRollups(@RequestParam("userId") Long userId,
+                                              @RequestParam(value = "granularity", defaultValue = "MONTH") BucketGranularity granularity,
+                                              @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(value = "activityType", required = false) @Nullable ActivityType activityType) {
+        return trainingRollupService.findRollups(userId, granularity, from, to, activityType)
+                .stream()
+                .map(trainingRollupMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Recomputes all rollups from the stored trainings.
+     */
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildRollups() {
+        trainingRollupService.rebuild();
+    }
+}
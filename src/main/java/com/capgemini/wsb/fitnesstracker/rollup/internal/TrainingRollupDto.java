@@ -0,0 +1,20 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+
+/**
+ * @param totalDuration sum of the durations of the trainings, in milliseconds
+ */
+record TrainingRollupDto(
+        Long userId,
+        ActivityType activityType,
+        BucketGranularity granularity,
+        LocalDate bucketStart,
+        long count,
+        double totalDistance,
+        long totalDuration,
+        double maxSpeed) {
+}
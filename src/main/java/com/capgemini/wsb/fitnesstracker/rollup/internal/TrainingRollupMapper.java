@@ -0,0 +1,19 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollup;
+import org.springframework.stereotype.Component;
+
+@Component
+class TrainingRollupMapper {
+
+    TrainingRollupDto toDto(TrainingRollup rollup) {
+        return new TrainingRollupDto(rollup.getUserId(),
+                                     rollup.getActivityType(),
+                                     rollup.getGranularity(),
+                                     rollup.getBucketStart(),
+                                     rollup.getCount(),
+                                     rollup.getTotalDistance(),
+                                     rollup.getTotalDuration(),
+                                     rollup.getMaxSpeed());
+    }
+}
@@ -0,0 +1,112 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollup;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+interface TrainingRollupRepository extends JpaRepository<TrainingRollup, Long> {
+
+    /**
+     * Reads a single rollup locking the row until the end of the transaction,
+     * so concurrent training writes falling into the same bucket apply their deltas one after another.
+     *
+     * @param userId ID of the user
+     * @param activityType activity type of the rollup
+     * @param granularity length of the bucket
+     * @param bucketStart first day of the bucket
+     * @return {@link Optional} containing the locked rollup or {@link Optional#empty()} if the bucket has none yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select r from TrainingRollup r
+            where r.userId = :userId
+              and r.granularity = :granularity
+              and r.bucketStart = :bucketStart
+              and r.activityType = :activityType
+            """)
+    Optional<TrainingRollup> findForUpdate(@Param("userId") Long userId,
+                                           @Param("activityType") ActivityType activityType,
+                                           @Param("granularity") BucketGranularity granularity,
+                                           @Param("bucketStart") LocalDate bucketStart);
+
+    /**
+     * Deletes the rollups of a range of users in a single statement.
+     *
+     * @param afterUserId ID of the user preceding the range, exclusive
+     * @param toUserId ID of the last user of the range, inclusive
+     * @return number of deleted rollups
+     */
+    @Modifying
+    @Query("delete from TrainingRollup r where r.userId > :afterUserId and r.userId <= :toUserId")
+    int deleteByUserIdRange(@Param("afterUserId") long afterUserId, @Param("toUserId") long toUserId);
+
+    /**
+     * Finds the rollups of a user whose buckets start within the given period, served by the unique key.
+     *
+     * @param userId ID of the user
+     * @param granularity length of the buckets
+     * @param from first day of the period, inclusive
+     * @param to last day of the period, inclusive
+     * @return {@link List} of rollups ordered by bucket start and activity type
+     */
+    List<TrainingRollup> findByUserIdAndGranularityAndBucketStartBetweenOrderByBucketStartAscActivityTypeAsc(
+            Long userId, BucketGranularity granularity, LocalDate from, LocalDate to);
+
+    /**
+     * Sums the training counts of every user within a single bucket.
+     *
+     * @param granularity length of the bucket
+     * @param bucketStart first day of the bucket
+     * @return number of trainings of every user having at least one in the bucket
+     */
+    @Query("""
+            select r.userId as userId, sum(r.count) as trainings from TrainingRollup r
+            where r.granularity = :granularity
+              and r.bucketStart = :bucketStart
+            group by r.userId
+            """)
+    List<UserTrainingCount> countPerUser(@Param("granularity") BucketGranularity granularity,
+                                         @Param("bucketStart") LocalDate bucketStart);
+
+    /**
+     * Finds the highest average speed among the trainings of a bucket, used when the training holding
+     * the maximum leaves the bucket. Pending changes are flushed first, so the result reflects the current transaction.
+     *
+     * @param userId ID of the user
+     * @param activityType activity type of the trainings
+     * @param from first instant of the bucket, inclusive
+     * @param to first instant of the following bucket, exclusive
+     * @return the highest average speed, or {@code null} if the bucket has no trainings
+     */
+    @Query("""
+            select max(t.averageSpeed) from Training t
+            where t.user.id = :userId
+              and t.activityType = :activityType
+              and t.endTime >= :from and t.endTime < :to
+            """)
+    Double findMaxSpeed(@Param("userId") Long userId,
+                        @Param("activityType") ActivityType activityType,
+                        @Param("from") Date from,
+                        @Param("to") Date to);
+
+    /**
+     * Number of trainings of a single user.
+     */
+    interface UserTrainingCount {
+
+        Long getUserId();
+
+        long getTrainings();
+    }
+}
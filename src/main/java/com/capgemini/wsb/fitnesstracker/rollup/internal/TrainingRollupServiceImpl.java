@@ -0,0 +1,272 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.persistence.api.RowInserts;
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollup;
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollupProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChange;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingRollupServiceImpl implements TrainingRollupProvider {
+
+    static final int REBUILD_FLUSH_SIZE = 10_000;
+    static final int REBUILD_USER_CHUNK_SIZE = 10_000;
+
+    private static final String INSERT_EMPTY_ROLLUP = """
+            insert into training_rollup (id, user_id, activity_type, bucket_granularity, bucket_start,
+                                         count, total_distance, total_duration, max_speed)
+            values (next value for training_rollup_seq, ?, ?, ?, ?, 0, 0, 0, 0)
+            """;
+
+    private final TrainingRollupRepository trainingRollupRepository;
+    private final TrainingProvider trainingProvider;
+    private final UserProvider userProvider;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Gets the rollups of a User whose buckets start within the given period.
+     *
+     * @param userId ID of the User.
+     * @param granularity length of the buckets.
+     * @param from first day of the period, inclusive.
+     * @param to last day of the period, inclusive.
+     * @param activityType activity type to restrict the rollups to, {@code null} for all of them.
+     * @return list of rollups ordered by bucket start and activity type.
+     */
+    @Override
+    public List<TrainingRollup> findRollups(Long userId, BucketGranularity granularity, LocalDate from, LocalDate to,
+                                            @Nullable ActivityType activityType) {
+        log.info("Fetching {} rollups of User with ID={} between {} and {}", granularity, userId, from, to);
+        List<TrainingRollup> rollups = trainingRollupRepository
+                .findByUserIdAndGranularityAndBucketStartBetweenOrderByBucketStartAscActivityTypeAsc(userId, granularity, from, to);
+        if (activityType == null) {
+            return rollups;
+        }
+        return rollups.stream()
+                .filter(rollup -> rollup.getActivityType() == activityType)
+                .toList();
+    }
+
+    /**
+     * Counts Trainings of every User within a single bucket.
+     *
+     * @param granularity length of the bucket.
+     * @param bucketStart first day of the bucket.
+     * @return number of Trainings keyed by User ID.
+     */
+    @Override
+    public Map<Long, Long> countTrainingsPerUser(BucketGranularity granularity, LocalDate bucketStart) {
+        log.info("Counting Trainings per User in {} bucket starting {}", granularity, bucketStart);
+        return trainingRollupRepository.countPerUser(granularity, bucketStart).stream()
+                .collect(Collectors.toMap(TrainingRollupRepository.UserTrainingCount::getUserId,
+                                          TrainingRollupRepository.UserTrainingCount::getTrainings));
+    }
+
+    /**
+     * Applies written trainings to the rollups of every granularity, within the transaction that wrote them.
+     * Updated trainings first leave the buckets of their previous values, which may belong to a different User.
+     * Deltas are summed per bucket, so each affected row is locked and written once, in a stable order.
+     * The first training of a bucket creates an empty row to lock, which concurrent writes falling into the same bucket
+     * wait for instead of failing on its unique key.
+     *
+     * @param event trainings written in the current transaction.
+     */
+    @EventListener
+    @Transactional
+    public void onTrainingsChanged(final TrainingsChangedEvent event) {
+        Map<Bucket, Delta> deltas = new TreeMap<>();
+        for (TrainingChange change : event.changes()) {
+            if (change.previous() != null) {
+                forEachBucket(change.previous(), bucket -> deltas.computeIfAbsent(bucket, b -> new Delta()).subtract(change.previous()));
+            }
+            forEachBucket(change.current(), bucket -> deltas.computeIfAbsent(bucket, b -> new Delta()).add(change.current()));
+        }
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Recomputes all rollups from the stored Trainings. Users are processed in chunks of
+     * {@value #REBUILD_USER_CHUNK_SIZE} consecutive IDs, each in its own transaction, so only the buckets of a chunk
+     * are kept in memory and its locks are released once it commits, however many Trainings were imported.
+     * Runs as well after trainings were imported to the database directly.
+     */
+    @EventListener(TrainingsImportedEvent.class)
+    public void rebuild() {
+        log.info("Rebuilding training rollups");
+        long highestUserId = userProvider.findHighestUserId().orElse(0L);
+        long rollups = 0;
+        for (long afterUserId = 0; afterUserId < highestUserId; afterUserId += REBUILD_USER_CHUNK_SIZE) {
+            long chunkAfterUserId = afterUserId;
+            long chunkToUserId = Math.min(afterUserId + REBUILD_USER_CHUNK_SIZE, highestUserId);
+            rollups += transactionTemplate.execute(status -> rebuild(chunkAfterUserId, chunkToUserId));
+        }
+        log.info("Rebuilt {} training rollups", rollups);
+    }
+
+    /**
+     * Replaces the rollups of the Users with IDs in {@code (afterUserId, toUserId]}, streaming their Trainings once.
+     * The rollups are written in chunks of {@value #REBUILD_FLUSH_SIZE}, clearing the persistence context in between.
+     *
+     * @return number of written rollups
+     */
+    private int rebuild(long afterUserId, long toUserId) {
+        entityManager.flush();
+        trainingRollupRepository.deleteByUserIdRange(afterUserId, toUserId);
+        entityManager.clear();
+        Map<Bucket, Delta> totals = new HashMap<>();
+        trainingProvider.forEachTrainingOfUsers(afterUserId, toUserId, training -> {
+            TrainingSnapshot snapshot = TrainingSnapshot.of(training);
+            forEachBucket(snapshot, bucket -> totals.computeIfAbsent(bucket, b -> new Delta()).add(snapshot));
+        });
+        int rollups = totals.size();
+        int saved = 0;
+        for (Iterator<Map.Entry<Bucket, Delta>> entries = totals.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<Bucket, Delta> entry = entries.next();
+            entityManager.persist(entry.getKey().newRollup(entry.getValue()));
+            entries.remove();
+            if (++saved % REBUILD_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return rollups;
+    }
+
+    private void apply(Bucket bucket, Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        TrainingRollup rollup = findForUpdate(bucket).orElseGet(() -> {
+            RowInserts.insertIfAbsent(entityManager, INSERT_EMPTY_ROLLUP, bucket.userId(), bucket.activityType().ordinal(),
+                                      bucket.granularity().name(), bucket.bucketStart());
+            return findForUpdate(bucket).orElseThrow();
+        });
+        rollup.setCount(rollup.getCount() + delta.count);
+        rollup.setTotalDistance(rollup.getTotalDistance() + delta.distance);
+        rollup.setTotalDuration(rollup.getTotalDuration() + delta.duration);
+        if (rollup.getCount() <= 0) {
+            trainingRollupRepository.delete(rollup);
+            return;
+        }
+        if (delta.removedMaxSpeed >= rollup.getMaxSpeed()) {
+            rollup.setMaxSpeed(findMaxSpeed(bucket));
+        } else {
+            rollup.setMaxSpeed(Math.max(rollup.getMaxSpeed(), delta.addedMaxSpeed));
+        }
+    }
+
+    private Optional<TrainingRollup> findForUpdate(Bucket bucket) {
+        return trainingRollupRepository.findForUpdate(bucket.userId(), bucket.activityType(), bucket.granularity(),
+                                                      bucket.bucketStart());
+    }
+
+    /**
+     * Recomputes the maximum speed of a bucket whose fastest training may have left it.
+     */
+    private double findMaxSpeed(Bucket bucket) {
+        Double maxSpeed = trainingRollupRepository.findMaxSpeed(
+                bucket.userId(),
+                bucket.activityType(),
+                BucketGranularity.startOf(bucket.bucketStart()),
+                BucketGranularity.startOf(bucket.granularity().nextBucketStart(bucket.bucketStart())));
+        return maxSpeed != null ? maxSpeed : 0.0;
+    }
+
+    private static void forEachBucket(TrainingSnapshot training, Consumer<Bucket> action) {
+        for (BucketGranularity granularity : BucketGranularity.values()) {
+            action.accept(new Bucket(training.userId(),
+                                     training.activityType(),
+                                     granularity,
+                                     granularity.bucketStart(training.endTime())));
+        }
+    }
+
+    /**
+     * Identity of a single rollup row.
+     */
+    private record Bucket(Long userId, ActivityType activityType, BucketGranularity granularity, LocalDate bucketStart)
+            implements Comparable<Bucket> {
+
+        private static final Comparator<Bucket> ORDER = Comparator.comparing(Bucket::userId)
+                .thenComparing(Bucket::granularity)
+                .thenComparing(Bucket::bucketStart)
+                .thenComparing(Bucket::activityType);
+
+        @Override
+        public int compareTo(Bucket other) {
+            return ORDER.compare(this, other);
+        }
+
+        TrainingRollup newRollup(Delta totals) {
+            TrainingRollup rollup = new TrainingRollup(userId, activityType, granularity, bucketStart);
+            rollup.setCount(totals.count);
+            rollup.setTotalDistance(totals.distance);
+            rollup.setTotalDuration(totals.duration);
+            rollup.setMaxSpeed(totals.addedMaxSpeed);
+            return rollup;
+        }
+    }
+
+    /**
+     * Change of the totals of a single bucket.
+     * The maximum speed cannot be reversed, so only the highest removed speed is tracked to detect
+     * when the maximum has to be recomputed.
+     */
+    private static final class Delta {
+
+        private long count;
+        private double distance;
+        private long duration;
+        private double addedMaxSpeed;
+        private double removedMaxSpeed = Double.NEGATIVE_INFINITY;
+
+        void add(TrainingSnapshot training) {
+            count++;
+            distance += training.distance();
+            duration += training.durationMillis();
+            addedMaxSpeed = Math.max(addedMaxSpeed, training.averageSpeed());
+        }
+
+        void subtract(TrainingSnapshot training) {
+            count--;
+            distance -= training.distance();
+            duration -= training.durationMillis();
+            removedMaxSpeed = Math.max(removedMaxSpeed, training.averageSpeed());
+        }
+
+        boolean isEmpty() {
+            return count == 0 && distance == 0 && duration == 0 && addedMaxSpeed == 0
+                    && removedMaxSpeed == Double.NEGATIVE_INFINITY;
+        }
+    }
+}
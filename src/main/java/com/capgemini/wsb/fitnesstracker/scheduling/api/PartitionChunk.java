@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.api;
+
+/**
+ * Progress made by a single chunk of a partition.
+ *
+ * @param lastId highest ID covered by the chunk; the ID the partition ends at once no entity is left in it
+ * @param processed number of entities processed by the chunk
+ */
+public record PartitionChunk(long lastId, int processed) {
+}
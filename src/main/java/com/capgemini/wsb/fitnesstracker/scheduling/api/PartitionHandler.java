@@ -0,0 +1,20 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.api;
+
+/**
+ * Work done for a partition of a job run, one chunk at a time.
+ */
+@FunctionalInterface
+public interface PartitionHandler {
+
+    /**
+     * Processes the next chunk of a partition. Runs in the transaction recording the chunk as the checkpoint
+     * of the partition, so everything written here is committed if and only if the checkpoint is, and a partition
+     * taken over after a failure continues right after the last committed chunk.
+     *
+     * @param runKey key of the run, e.g. the month a report covers
+     * @param afterId ID of the last entity processed by the previous chunk, exclusive
+     * @param toId highest ID of the partition, inclusive
+     * @return progress of the chunk, covering at least one ID
+     */
+    PartitionChunk processChunk(String runKey, long afterId, long toId);
+}
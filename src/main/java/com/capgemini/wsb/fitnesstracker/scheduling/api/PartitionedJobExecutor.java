@@ -0,0 +1,34 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.api;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Runs jobs across all application instances sharing the database.
+ * A run splits an ID space into partitions; every instance claims and processes partitions until none is left,
+ * so a run scales with the number of instances and every partition is completed exactly once.
+ */
+public interface PartitionedJobExecutor {
+
+    /**
+     * Takes part in a run of a job. The first instance to hold the scheduler lease of the job splits
+     * {@code [1, highestId]} into partitions; the others wait for the partitions to appear.
+     * Returns once no partition of the run is left to claim; calling it again for a finished run does nothing.
+     *
+     * @param jobName name of the job
+     * @param runKey key identifying the run, the same on all instances
+     * @param highestId supplies the highest ID to be processed, only invoked by the instance planning the run
+     * @param handler work done for every claimed partition
+     * @return number of partitions processed by this instance
+     */
+    int run(String jobName, String runKey, LongSupplier highestId, PartitionHandler handler);
+
+    /**
+     * Processes the partitions of unfinished runs of a job whose claims expired,
+     * e.g. because the instance holding them stopped or their processing failed.
+     *
+     * @param jobName name of the job
+     * @param handler work done for every claimed partition
+     * @return number of partitions processed by this instance
+     */
+    int resume(String jobName, PartitionHandler handler);
+}
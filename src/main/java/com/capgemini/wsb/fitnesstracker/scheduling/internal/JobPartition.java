@@ -0,0 +1,108 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Range of IDs processed by a single instance within a run of a job, in chunks.
+ * Claims and checkpoints are conditional updates on the row, so at most one instance holds a partition at a time
+ * and every chunk is committed once. The checkpoint is the last ID covered by a committed chunk.
+ */
+@Entity
+@Table(name = "job_partition", uniqueConstraints = @UniqueConstraint(
+        name = "uk_job_partition_run", columnNames = {"job_name", "run_key", "partition_no"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class JobPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_partition_seq")
+    @SequenceGenerator(name = "job_partition_seq", sequenceName = "job_partition_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "run_key", nullable = false, length = 100)
+    private String runKey;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partitionNo;
+
+    @Column(name = "from_id", nullable = false)
+    private long fromId;
+
+    @Column(name = "to_id", nullable = false)
+    private long toId;
+
+    @Column(name = "checkpoint_id", nullable = false)
+    private long checkpointId;
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Nullable
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Nullable
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Nullable
+    @Column(name = "checkpoint_at")
+    private Instant checkpointAt;
+
+    @Nullable
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    JobPartition(String jobName, String runKey, int partitionNo, long fromId, long toId, Instant createdAt) {
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.partitionNo = partitionNo;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.checkpointId = fromId - 1;
+        this.status = Status.PENDING;
+        this.createdAt = createdAt;
+    }
+
+    enum Status {
+        /**
+         * Not claimed yet.
+         */
+        PENDING,
+        /**
+         * Held by an instance until the lease expires.
+         */
+        CLAIMED,
+        /**
+         * Processed; never claimed again.
+         */
+        DONE
+    }
+}
@@ -0,0 +1,136 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import jakarta.annotation.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+interface JobPartitionRepository extends JpaRepository<JobPartition, Long> {
+
+    boolean existsByJobNameAndRunKey(String jobName, String runKey);
+
+    /**
+     * Finds partitions that are pending or whose claim expired.
+     *
+     * @param jobName name of the job
+     * @param runKey key of the run, {@code null} for all runs of the job
+     * @param pending {@link JobPartition.Status#PENDING}
+     * @param claimed {@link JobPartition.Status#CLAIMED}
+     * @param now current time
+     * @param pageable page request carrying the limit
+     * @return {@link List} of claimable partitions ordered by run and partition number
+     */
+    @Query("""
+            select p from JobPartition p
+            where p.jobName = :jobName
+              and (:runKey is null or p.runKey = :runKey)
+              and (p.status = :pending or (p.status = :claimed and p.leaseUntil < :now))
+            order by p.runKey, p.partitionNo
+            """)
+    List<JobPartition> findClaimable(@Param("jobName") String jobName,
+                                     @Param("runKey") @Nullable String runKey,
+                                     @Param("pending") JobPartition.Status pending,
+                                     @Param("claimed") JobPartition.Status claimed,
+                                     @Param("now") Instant now,
+                                     Pageable pageable);
+
+    /**
+     * Claims a partition if it is still claimable. The condition is evaluated under the row lock,
+     * so of concurrent claims only the first one updates the row.
+     *
+     * @return 1 if the partition was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("""
+            update JobPartition p set p.status = :claimed, p.claimedBy = :nodeId, p.leaseUntil = :leaseUntil
+            where p.id = :id and (p.status = :pending or (p.status = :claimed and p.leaseUntil < :now))
+            """)
+    int claim(@Param("id") Long id,
+              @Param("nodeId") String nodeId,
+              @Param("pending") JobPartition.Status pending,
+              @Param("claimed") JobPartition.Status claimed,
+              @Param("now") Instant now,
+              @Param("leaseUntil") Instant leaseUntil);
+
+    /**
+     * Records a committed chunk of a partition if the given node still holds the claim on it and no other chunk
+     * was recorded since the given checkpoint. Extends the claim, or completes the partition with its last chunk.
+     *
+     * @param status {@link JobPartition.Status#CLAIMED}, or {@link JobPartition.Status#DONE} for the last chunk
+     * @param leaseUntil new end of the claim, {@code null} for the last chunk
+     * @return 1 if the chunk was recorded, 0 if the claim was lost
+     */
+    @Modifying
+    @Query("""
+            update JobPartition p
+            set p.checkpointId = :lastId, p.processedCount = p.processedCount + :processed, p.checkpointAt = :now,
+                p.status = :status, p.leaseUntil = :leaseUntil, p.completedAt = :completedAt
+            where p.id = :id and p.status = :claimed and p.claimedBy = :nodeId and p.checkpointId = :afterId
+            """)
+    int checkpoint(@Param("id") Long id,
+                   @Param("nodeId") String nodeId,
+                   @Param("claimed") JobPartition.Status claimed,
+                   @Param("afterId") long afterId,
+                   @Param("lastId") long lastId,
+                   @Param("processed") long processed,
+                   @Param("status") JobPartition.Status status,
+                   @Param("now") Instant now,
+                   @Param("leaseUntil") @Nullable Instant leaseUntil,
+                   @Param("completedAt") @Nullable Instant completedAt);
+
+    /**
+     * Summarizes the partitions of every run, most recent run first.
+     *
+     * @param jobName name of the job, {@code null} for all jobs
+     * @param claimed {@link JobPartition.Status#CLAIMED}
+     * @param done {@link JobPartition.Status#DONE}
+     * @return {@link List} of run summaries
+     */
+    @Query("""
+            select p.jobName as jobName, p.runKey as runKey,
+                   count(p) as partitions,
+                   sum(case when p.status = :claimed then 1 else 0 end) as claimedPartitions,
+                   sum(case when p.status = :done then 1 else 0 end) as donePartitions,
+                   sum(p.checkpointId - p.fromId + 1) as coveredIds,
+                   sum(p.toId - p.fromId + 1) as totalIds,
+                   sum(p.processedCount) as processed,
+                   min(p.createdAt) as startedAt,
+                   max(p.checkpointAt) as lastCheckpointAt
+            from JobPartition p
+            where :jobName is null or p.jobName = :jobName
+            group by p.jobName, p.runKey
+            order by min(p.createdAt) desc, p.jobName
+            """)
+    List<RunSummary> summarizeRuns(@Param("jobName") @Nullable String jobName,
+                                   @Param("claimed") JobPartition.Status claimed,
+                                   @Param("done") JobPartition.Status done);
+
+    interface RunSummary {
+
+        String getJobName();
+
+        String getRunKey();
+
+        Long getPartitions();
+
+        Long getClaimedPartitions();
+
+        Long getDonePartitions();
+
+        Long getCoveredIds();
+
+        Long getTotalIds();
+
+        Long getProcessed();
+
+        Instant getStartedAt();
+
+        @Nullable
+        Instant getLastCheckpointAt();
+    }
+}
@@ -0,0 +1,148 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionChunk;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionHandler;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Transactions of the {@code scheduler_lease} and {@code job_partition} tables. Every method is a single short
+ * transaction, except {@link #processChunk}, which also holds the work done for a chunk of a partition.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class JobPartitionStore {
+
+    /**
+     * Number of claimable partitions read at once; they are tried in random order,
+     * so concurrent nodes rarely wait for the same row.
+     */
+    private static final int CLAIM_CANDIDATES = 16;
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final JobPartitionRepository partitionRepository;
+    private final SchedulingProperties schedulingProperties;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Creates the lease row of a job unless it exists. Concurrent creations fail on the primary key.
+     *
+     * @param jobName name of the job
+     */
+    @Transactional
+    public void createLease(String jobName) {
+        if (!leaseRepository.existsById(jobName)) {
+            leaseRepository.saveAndFlush(new SchedulerLease(jobName));
+        }
+    }
+
+    /**
+     * Splits a run into partitions, provided it has not been split yet and this node holds the lease of the job.
+     *
+     * @param jobName name of the job
+     * @param runKey key of the run
+     * @param highestId supplies the highest ID to be processed
+     * @return true if the run is split into partitions, false if another node holds the lease
+     */
+    @Transactional
+    public boolean plan(String jobName, String runKey, LongSupplier highestId) {
+        if (partitionRepository.existsByJobNameAndRunKey(jobName, runKey)) {
+            return true;
+        }
+        Instant now = clock.instant();
+        String nodeId = schedulingProperties.getNodeId();
+        if (leaseRepository.acquire(jobName, nodeId, now, now.plus(schedulingProperties.getLease())) == 0) {
+            return false;
+        }
+        if (partitionRepository.existsByJobNameAndRunKey(jobName, runKey)) {
+            return true;
+        }
+        long lastId = Math.max(highestId.getAsLong(), 1);
+        int partitions = (int) Math.min(schedulingProperties.getPartitions(), lastId);
+        List<JobPartition> planned = new ArrayList<>(partitions);
+        long fromId = 1;
+        for (int partitionNo = 0; partitionNo < partitions; partitionNo++) {
+            long toId = partitionNo == partitions - 1 ? lastId : lastId * (partitionNo + 1) / partitions;
+            planned.add(new JobPartition(jobName, runKey, partitionNo, fromId, toId, now));
+            fromId = toId + 1;
+        }
+        partitionRepository.saveAll(planned);
+        log.info("Run {} of job {} split into {} partitions up to ID={}", runKey, jobName, partitions, lastId);
+        return true;
+    }
+
+    /**
+     * Claims a pending partition, or one whose claim expired, for this node until its lease expires.
+     *
+     * @param jobName name of the job
+     * @param runKey key of the run, {@code null} for any run of the job
+     * @return the claimed partition, or {@link Optional#empty()} if none is left
+     */
+    @Transactional
+    public Optional<ClaimedPartition> claimNext(String jobName, @Nullable String runKey) {
+        Instant now = clock.instant();
+        Instant leaseUntil = now.plus(schedulingProperties.getLease());
+        String nodeId = schedulingProperties.getNodeId();
+        List<JobPartition> candidates = new ArrayList<>(partitionRepository.findClaimable(
+                jobName, runKey, JobPartition.Status.PENDING, JobPartition.Status.CLAIMED, now,
+                PageRequest.ofSize(CLAIM_CANDIDATES)));
+        Collections.shuffle(candidates);
+        for (JobPartition candidate : candidates) {
+            if (partitionRepository.claim(candidate.getId(), nodeId, JobPartition.Status.PENDING,
+                                          JobPartition.Status.CLAIMED, now, leaseUntil) == 1) {
+                return Optional.of(new ClaimedPartition(candidate.getId(), candidate.getRunKey(), candidate.getFromId(),
+                                                        candidate.getToId(), candidate.getCheckpointId()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Processes the next chunk of a claimed partition and records it as the checkpoint in the same transaction,
+     * extending the claim; the last chunk completes the partition. If the claim was lost in the meantime,
+     * e.g. because it expired and another node took the partition over, the chunk is rolled back.
+     *
+     * @param partition partition claimed by this node
+     * @param afterId checkpoint the chunk starts after
+     * @param handler work done for the chunk
+     * @return the new checkpoint
+     * @throws IllegalStateException if this node no longer holds the claim or the chunk made no progress
+     */
+    @Transactional
+    public long processChunk(ClaimedPartition partition, long afterId, PartitionHandler handler) {
+        PartitionChunk chunk = handler.processChunk(partition.runKey(), afterId, partition.toId());
+        long lastId = Math.min(chunk.lastId(), partition.toId());
+        if (lastId <= afterId) {
+            throw new IllegalStateException("Chunk after ID=" + afterId + " of partition " + partition.id() + " made no progress");
+        }
+        boolean last = lastId == partition.toId();
+        Instant now = clock.instant();
+        if (partitionRepository.checkpoint(partition.id(), schedulingProperties.getNodeId(), JobPartition.Status.CLAIMED,
+                                           afterId, lastId, chunk.processed(),
+                                           last ? JobPartition.Status.DONE : JobPartition.Status.CLAIMED, now,
+                                           last ? null : now.plus(schedulingProperties.getLease()),
+                                           last ? now : null) == 0) {
+            throw new IllegalStateException("Claim on partition " + partition.id() + " was lost");
+        }
+        return lastId;
+    }
+
+    /**
+     * Partition held by this node, with the checkpoint it was claimed at.
+     */
+    record ClaimedPartition(Long id, String runKey, long fromId, long toId, long checkpointId) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/jobs} reporting the progress and throughput of the runs of partitioned jobs,
+ * read from the checkpoints in the {@code job_partition} table, so it covers the work of all instances.
+ */
+@Component
+@Endpoint(id = "jobs")
+@RequiredArgsConstructor
+class JobProgressEndpoint {
+
+    private final JobPartitionRepository partitionRepository;
+
+    /**
+     * @return progress of all runs, most recent first
+     */
+    @ReadOperation
+    public List<JobRunProgressDto> runs() {
+        return summarizeRuns(null);
+    }
+
+    /**
+     * @param jobName name of the job
+     * @return progress of the runs of the job, most recent first
+     */
+    @ReadOperation
+    public List<JobRunProgressDto> runsOf(@Selector String jobName) {
+        return summarizeRuns(jobName);
+    }
+
+    private List<JobRunProgressDto> summarizeRuns(@Nullable String jobName) {
+        return partitionRepository.summarizeRuns(jobName, JobPartition.Status.CLAIMED, JobPartition.Status.DONE).stream()
+                .map(JobProgressEndpoint::toProgress)
+                .toList();
+    }
+
+    private static JobRunProgressDto toProgress(JobPartitionRepository.RunSummary run) {
+        double elapsedSeconds = run.getLastCheckpointAt() == null
+                                ? 0
+                                : Duration.between(run.getStartedAt(), run.getLastCheckpointAt()).toMillis() / 1000.0;
+        return new JobRunProgressDto(
+                run.getJobName(),
+                run.getRunKey(),
+                run.getDonePartitions().equals(run.getPartitions())
+                ? JobRunProgressDto.Status.COMPLETED
+                : JobRunProgressDto.Status.RUNNING,
+                run.getPartitions(),
+                run.getClaimedPartitions(),
+                run.getDonePartitions(),
+                (double) run.getCoveredIds() / run.getTotalIds(),
+                run.getProcessed(),
+                run.getStartedAt(),
+                run.getLastCheckpointAt(),
+                elapsedSeconds > 0 ? run.getProcessed() / elapsedSeconds : 0);
+    }
+}
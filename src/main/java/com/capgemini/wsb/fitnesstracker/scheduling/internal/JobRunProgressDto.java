@@ -0,0 +1,30 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Progress of a run of a partitioned job.
+ *
+ * @param completion share of the ID space of the run covered by committed chunks, from 0 to 1
+ * @param processedPerSecond entities processed per second between the start of the run and its last checkpoint
+ */
+record JobRunProgressDto(
+        String jobName,
+        String runKey,
+        Status status,
+        long partitions,
+        long claimedPartitions,
+        long donePartitions,
+        double completion,
+        long processed,
+        Instant startedAt,
+        @Nullable Instant lastCheckpointAt,
+        double processedPerSecond) {
+
+    enum Status {
+        RUNNING,
+        COMPLETED
+    }
+}
@@ -0,0 +1,113 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionHandler;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionedJobExecutor;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Coordinates nodes through the database only: the {@code scheduler_lease} row elects the node splitting a run,
+ * the {@code job_partition} rows are claimed with conditional updates. Partitions are processed in chunks, each
+ * committed together with the checkpoint of its partition, so the effects of a chunk are committed exactly once
+ * and a partition taken over after its claim expired, e.g. because a node stopped midway, continues from
+ * its checkpoint. Every chunk extends the claim, so the lease only has to outlast a single chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class PartitionedJobExecutorImpl implements PartitionedJobExecutor {
+
+    private static final long PLANNING_POLL_MILLIS = 200;
+
+    private final JobPartitionStore jobPartitionStore;
+    private final SchedulingProperties schedulingProperties;
+
+    @Override
+    public int run(String jobName, String runKey, LongSupplier highestId, PartitionHandler handler) {
+        log.info("Node {} joining run {} of job {}", schedulingProperties.getNodeId(), runKey, jobName);
+        createLease(jobName);
+        Instant deadline = Instant.now().plus(schedulingProperties.getPlanningTimeout());
+        while (!plan(jobName, runKey, highestId)) {
+            if (Instant.now().isAfter(deadline)) {
+                throw new IllegalStateException("Run " + runKey + " of job " + jobName + " was not planned in time");
+            }
+            sleep();
+        }
+        return processClaimable(jobName, runKey, handler);
+    }
+
+    @Override
+    public int resume(String jobName, PartitionHandler handler) {
+        return processClaimable(jobName, null, handler);
+    }
+
+    private void createLease(String jobName) {
+        try {
+            jobPartitionStore.createLease(jobName);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lease of job {} created by another node", jobName);
+        }
+    }
+
+    private boolean plan(String jobName, String runKey, LongSupplier highestId) {
+        try {
+            return jobPartitionStore.plan(jobName, runKey, highestId);
+        } catch (ConcurrencyFailureException e) {
+            log.debug("Lease of job {} is busy", jobName, e);
+            return false;
+        }
+    }
+
+    private int processClaimable(String jobName, @Nullable String runKey, PartitionHandler handler) {
+        int processed = 0;
+        while (true) {
+            Optional<JobPartitionStore.ClaimedPartition> claimed;
+            try {
+                claimed = jobPartitionStore.claimNext(jobName, runKey);
+            } catch (ConcurrencyFailureException e) {
+                log.debug("Claiming a partition of job {} collided, retrying", jobName, e);
+                continue;
+            }
+            if (claimed.isEmpty()) {
+                if (processed > 0) {
+                    log.info("Node {} processed {} partitions of job {}", schedulingProperties.getNodeId(), processed, jobName);
+                }
+                return processed;
+            }
+            JobPartitionStore.ClaimedPartition partition = claimed.get();
+            if (partition.checkpointId() >= partition.fromId()) {
+                log.info("Resuming partition {} of run {} of job {} after ID={}",
+                         partition.id(), partition.runKey(), jobName, partition.checkpointId());
+            }
+            long checkpoint = partition.checkpointId();
+            try {
+                while (checkpoint < partition.toId()) {
+                    checkpoint = jobPartitionStore.processChunk(partition, checkpoint, handler);
+                }
+                processed++;
+                log.debug("Partition {} of run {} of job {} with IDs {}-{} done",
+                          partition.id(), partition.runKey(), jobName, partition.fromId(), partition.toId());
+            } catch (RuntimeException e) {
+                log.error("Partition {} of run {} of job {} failed after ID={}, it is resumed once its claim expires",
+                          partition.id(), partition.runKey(), jobName, checkpoint, e);
+            }
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(PLANNING_POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a run to be planned", e);
+        }
+    }
+}
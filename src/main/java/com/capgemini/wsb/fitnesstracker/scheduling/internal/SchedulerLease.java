@@ -0,0 +1,41 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Lease on a job, held by at most one instance at a time. The row is created once and then only updated,
+ * so acquiring the lease is a single conditional update, serialized by the row lock.
+ */
+@Entity
+@Table(name = "scheduler_lease")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class SchedulerLease {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Nullable
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    SchedulerLease(String name) {
+        this.name = name;
+        this.lockedUntil = Instant.EPOCH;
+    }
+}
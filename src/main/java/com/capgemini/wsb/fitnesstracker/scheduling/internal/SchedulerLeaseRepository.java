@@ -0,0 +1,31 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Takes the lease if it expired or is already held by the given node. The row stays locked until the end
+     * of the transaction, so concurrent attempts wait and then see the lease taken.
+     *
+     * @param name name of the lease
+     * @param nodeId node taking the lease
+     * @param now current time
+     * @param lockedUntil end of the new lease
+     * @return 1 if the lease was taken, 0 otherwise
+     */
+    @Modifying
+    @Query("""
+            update SchedulerLease l set l.lockedBy = :nodeId, l.lockedUntil = :lockedUntil
+            where l.name = :name and (l.lockedUntil < :now or l.lockedBy = :nodeId)
+            """)
+    int acquire(@Param("name") String name,
+                @Param("nodeId") String nodeId,
+                @Param("now") Instant now,
+                @Param("lockedUntil") Instant lockedUntil);
+}
@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SchedulingProperties.class)
+class SchedulingConfig {
+}
@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "scheduling")
+@Getter
+public class SchedulingProperties {
+
+    /**
+     * Identifier of this instance in leases and partition claims; a random one when not set.
+     */
+    private final String nodeId;
+
+    /**
+     * Number of partitions the ID space of a run is split into; bounds the number of instances working on a run.
+     */
+    private final int partitions;
+
+    /**
+     * How long a claimed partition or the scheduler lease stays with an instance before others may take it over.
+     * Every committed chunk extends the claim on its partition, so it only has to outlast a single chunk.
+     */
+    private final Duration lease;
+
+    /**
+     * How long an instance waits for another one to plan a run before giving up.
+     */
+    private final Duration planningTimeout;
+
+    public SchedulingProperties(@Nullable String nodeId,
+                                @DefaultValue("16") int partitions,
+                                @DefaultValue("2m") Duration lease,
+                                @DefaultValue("1m") Duration planningTimeout) {
+        this.nodeId = nodeId != null ? nodeId : UUID.randomUUID().toString();
+        this.partitions = partitions;
+        this.lease = lease;
+        this.planningTimeout = planningTimeout;
+    }
+}
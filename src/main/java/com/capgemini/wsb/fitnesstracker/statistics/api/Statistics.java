@@ -3,21 +3,32 @@ package com.capgemini.wsb.fitnesstracker.statistics.api;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * Training totals of a single user, keyed by the ID of the user.
+ */
 @Entity
 @Table(name = "statistics")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Statistics.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 public class Statistics {
 
+    public static final String CACHE_REGION = "statistics-entities";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "user_id")
     private Long id;
 
-    @ManyToOne
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
     private User user;
 
     @Column(name = "total_trainings", nullable = false)
@@ -29,4 +40,8 @@ public class Statistics {
     @Column(name = "total_calories_burned")
     private int totalCaloriesBurned;
 
-}
\ No newline at end of file
+    public Statistics(User user) {
+        this.user = user;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.NotFoundException;
+
+/**
+ * Exception indicating that the {@link Statistics} of the user were not found.
+ */
+@SuppressWarnings("squid:S110")
+public class StatisticsNotFoundException extends NotFoundException {
+
+    private StatisticsNotFoundException(String message) {
+        super(message);
+    }
+
+    public StatisticsNotFoundException(Long userId) {
+        this("Statistics for user with ID=%s were not found".formatted(userId));
+    }
+}
@@ -0,0 +1,188 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates calories burned during a training as MET x body weight x duration in hours x age correction.
+ * <ul>
+ *     <li>The MET of an activity depends on its speed, following the Compendium of Physical Activities.
+ *     The average speed of the training is used, or distance over duration when no speed was recorded.</li>
+ *     <li>One MET assumes a resting metabolic rate of 1 kcal/kg/h. The age correction scales it to the resting
+ *     rate of the Mifflin-St Jeor equation at the age of the user, for the reference body.</li>
+ *     <li>Body weight and height are not known, so a reference body of {@value #REFERENCE_WEIGHT_KG} kg
+ *     and {@value #REFERENCE_HEIGHT_CM} cm is used.</li>
+ * </ul>
+ * Besides single trainings, whole columns of trainings can be estimated at once by {@link #estimate(Batch)},
+ * which reads primitive arrays only, so recalculating millions of historic trainings is bound by memory bandwidth.
+ */
+final class CalorieEstimator {
+
+    static final double REFERENCE_WEIGHT_KG = 70.0;
+    static final double REFERENCE_HEIGHT_CM = 170.0;
+
+    private static final double MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final double DAYS_PER_YEAR = 365.2425;
+
+    /**
+     * Resting kcal per day of one MET for the reference body.
+     */
+    private static final double MET_REST_KCAL_PER_DAY = REFERENCE_WEIGHT_KG * 24;
+
+    /**
+     * Mifflin-St Jeor resting kcal per day of the reference body without the age term,
+     * averaging the constants of both sexes.
+     */
+    private static final double MIFFLIN_BASE_KCAL_PER_DAY = 10 * REFERENCE_WEIGHT_KG + 6.25 * REFERENCE_HEIGHT_CM - 78;
+
+    /**
+     * Lowest speed, in km/h, of every MET level of an activity, indexed by {@link ActivityType#ordinal()}.
+     */
+    private static final double[][] SPEED_THRESHOLDS = new double[ActivityType.values().length][];
+
+    /**
+     * MET of every level, at the same positions as {@link #SPEED_THRESHOLDS}.
+     */
+    private static final double[][] METS = new double[ActivityType.values().length][];
+
+    static {
+        table(ActivityType.RUNNING,
+              new double[]{0.0, 6.4, 8.0, 9.7, 10.8, 11.3, 12.1, 12.9, 13.8, 14.5, 16.1, 17.7, 19.3, 22.5},
+              new double[]{6.0, 6.0, 8.3, 9.8, 10.5, 11.0, 11.5, 11.8, 12.3, 12.8, 14.5, 16.0, 19.0, 23.0});
+        table(ActivityType.CYCLING,
+              new double[]{0.0, 16.1, 19.3, 22.5, 25.7, 30.6},
+              new double[]{4.0, 6.8, 8.0, 10.0, 12.0, 15.8});
+        table(ActivityType.WALKING,
+              new double[]{0.0, 3.2, 4.0, 4.8, 5.6, 6.4, 7.2, 8.0},
+              new double[]{2.0, 2.8, 3.0, 3.5, 4.3, 5.0, 7.0, 8.3});
+        table(ActivityType.SWIMMING,
+              new double[]{0.0, 2.0, 3.0},
+              new double[]{6.0, 8.3, 9.8});
+        table(ActivityType.TENNIS,
+              new double[]{0.0},
+              new double[]{7.3});
+    }
+
+    private CalorieEstimator() {
+    }
+
+    /**
+     * @param training training to estimate
+     * @return estimated calories, rounded to whole kilocalories; 0 for trainings without a positive duration
+     */
+    static int estimate(TrainingSnapshot training) {
+        return (int) Math.round(estimate(training.activityType().ordinal(),
+                                         training.durationMillis(),
+                                         training.distance(),
+                                         training.averageSpeed(),
+                                         ageInYears(training.userBirthdate(), training.startTime().getTime())));
+    }
+
+    /**
+     * Estimates every training of the batch, writing the rounded calories to {@link Batch#calories}.
+     *
+     * @param batch trainings to estimate, the first {@link Batch#size} positions of every column are used
+     */
+    static void estimate(Batch batch) {
+        for (int i = 0; i < batch.size; i++) {
+            batch.calories[i] = (int) Math.round(estimate(batch.activityTypes[i],
+                                                          batch.durationsMillis[i],
+                                                          batch.distances[i],
+                                                          batch.averageSpeeds[i],
+                                                          batch.ages[i]));
+        }
+    }
+
+    /**
+     * @param birthdate birthdate of the user
+     * @param atMillis  point in time, in epoch milliseconds
+     * @return age of the user at the given point in time, in fractional years
+     */
+    static double ageInYears(LocalDate birthdate, long atMillis) {
+        long atEpochDay = Math.floorDiv(atMillis, TimeUnit.DAYS.toMillis(1));
+        return (atEpochDay - birthdate.toEpochDay()) / DAYS_PER_YEAR;
+    }
+
+    static double met(ActivityType activityType, double speedKmh) {
+        return met(activityType.ordinal(), speedKmh);
+    }
+
+    private static double estimate(int activityType, long durationMillis, double distance, double averageSpeed, double age) {
+        if (durationMillis <= 0) {
+            return 0;
+        }
+        double hours = durationMillis / MILLIS_PER_HOUR;
+        double speed = averageSpeed > 0 ? averageSpeed : distance / hours;
+        double ageCorrection = (MIFFLIN_BASE_KCAL_PER_DAY - 5 * Math.max(age, 0)) / MET_REST_KCAL_PER_DAY;
+        return met(activityType, speed) * REFERENCE_WEIGHT_KG * hours * ageCorrection;
+    }
+
+    private static double met(int activityType, double speedKmh) {
+        double[] thresholds = SPEED_THRESHOLDS[activityType];
+        double[] mets = METS[activityType];
+        int level = 0;
+        for (int i = 1; i < thresholds.length; i++) {
+            if (speedKmh >= thresholds[i]) {
+                level = i;
+            }
+        }
+        return mets[level];
+    }
+
+    private static void table(ActivityType activityType, double[] speedThresholds, double[] mets) {
+        SPEED_THRESHOLDS[activityType.ordinal()] = speedThresholds;
+        METS[activityType.ordinal()] = mets;
+    }
+
+    /**
+     * Columns of a batch of trainings, reused from one batch to the next.
+     */
+    static final class Batch {
+
+        /**
+         * Owners of the trainings, not read by the estimation; kept to attribute the results.
+         */
+        final long[] userIds;
+        final int[] activityTypes;
+        final long[] durationsMillis;
+        final double[] distances;
+        final double[] averageSpeeds;
+        final double[] ages;
+        final int[] calories;
+        int size;
+
+        Batch(int capacity) {
+            userIds = new long[capacity];
+            activityTypes = new int[capacity];
+            durationsMillis = new long[capacity];
+            distances = new double[capacity];
+            averageSpeeds = new double[capacity];
+            ages = new double[capacity];
+            calories = new int[capacity];
+        }
+
+        /**
+         * Appends a training to the batch.
+         *
+         * @param training training to estimate
+         * @return true if the batch is full
+         */
+        boolean add(TrainingSnapshot training) {
+            userIds[size] = training.userId();
+            activityTypes[size] = training.activityType().ordinal();
+            durationsMillis[size] = training.durationMillis();
+            distances[size] = training.distance();
+            averageSpeeds[size] = training.averageSpeed();
+            ages[size] = ageInYears(training.userBirthdate(), training.startTime().getTime());
+            size++;
+            return size == activityTypes.length;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing training statistics of users.
+ */
+@RestController
+@RequestMapping("/v1/statistics")
+@RequiredArgsConstructor
+class StatisticsController {
+
+    private final StatisticsServiceImpl statisticsService;
+    private final StatisticsMapper statisticsMapper;
+
+    /**
+     * Gets the training totals of a user.
+     *
+     * @param userId ID of the user.
+     * @return statistics of the user.
+     * @throws StatisticsNotFoundException if the user has no recorded trainings.
+     */
+    @GetMapping("/{userId}")
+    public StatisticsDto getStatistics(@PathVariable Long userId) {
+        return statisticsService.getStatistics(userId)
+                .map(statisticsMapper::toDto)
+                .orElseThrow(() -> new StatisticsNotFoundException(userId));
+    }
+
+    /**
+     * Recomputes the statistics of all users from the stored trainings.
+     */
+    @PostMapping("/recalculate")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void recalculateStatistics() {
+        statisticsService.recalculate();
+    }
+}
@@ -0,0 +1,8 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+record StatisticsDto(
+        Long userId,
+        int totalTrainings,
+        double totalDistance,
+        int totalCaloriesBurned) {
+}
@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import org.springframework.stereotype.Component;
+
+@Component
+class StatisticsMapper {
+
+    StatisticsDto toDto(Statistics statistics) {
+        return new StatisticsDto(statistics.getId(),
+                                 statistics.getTotalTrainings(),
+                                 statistics.getTotalDistance(),
+                                 statistics.getTotalCaloriesBurned());
+    }
+}
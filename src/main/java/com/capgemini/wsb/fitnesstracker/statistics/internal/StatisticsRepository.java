@@ -0,0 +1,37 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+interface StatisticsRepository extends JpaRepository<Statistics, Long> {
+
+    /**
+     * Reads the statistics of the user locking the row until the end of the transaction,
+     * so concurrent training writes of the same user apply their deltas one after another.
+     *
+     * @param userId ID of the user
+     * @return {@link Optional} containing the locked statistics or {@link Optional#empty()} if the user has none yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Statistics s where s.id = :userId")
+    Optional<Statistics> findForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Deletes the statistics of a range of users in a single statement.
+     *
+     * @param afterUserId ID of the user preceding the range, exclusive
+     * @param toUserId ID of the last user of the range, inclusive
+     * @return number of deleted statistics
+     */
+    @Modifying
+    @Query("delete from Statistics s where s.id > :afterUserId and s.id <= :toUserId")
+    int deleteByUserIdRange(@Param("afterUserId") long afterUserId, @Param("toUserId") long toUserId);
+
+}
@@ -0,0 +1,190 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.persistence.api.RowInserts;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChange;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class StatisticsServiceImpl implements StatisticsProvider {
+
+    static final int RECALCULATION_BATCH_SIZE = 10_000;
+    static final int RECALCULATION_USER_CHUNK_SIZE = 10_000;
+
+    private static final String INSERT_EMPTY_STATISTICS = """
+            insert into statistics (user_id, total_trainings, total_distance, total_calories_burned)
+            values (?, 0, 0, 0)
+            """;
+
+    private final StatisticsRepository statisticsRepository;
+    private final EntityManager entityManager;
+    private final TrainingProvider trainingProvider;
+    private final UserProvider userProvider;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Gets the Statistics of a User by a single primary key read.
+     *
+     * @param statisticsId ID of the User.
+     * @return an Optional containing the Statistics if the User has any trainings, otherwise empty.
+     */
+    @Override
+    public Optional<Statistics> getStatistics(final Long statisticsId) {
+        log.info("Fetching Statistics of User with ID={}", statisticsId);
+        return statisticsRepository.findById(statisticsId);
+    }
+
+    /**
+     * Applies written trainings to the Statistics of their Users, within the transaction that wrote them.
+     * Updated trainings first reverse their previous values, which may belong to a different User.
+     * Deltas are summed per User, so each affected row is locked and written once, in User ID order.
+     * The first training of a User creates an empty row to lock, which concurrent writes of the same User wait for
+     * instead of failing on its primary key.
+     *
+     * @param event trainings written in the current transaction.
+     */
+    @EventListener
+    @Transactional
+    public void onTrainingsChanged(final TrainingsChangedEvent event) {
+        Map<Long, Delta> deltas = new TreeMap<>();
+        for (TrainingChange change : event.changes()) {
+            if (change.previous() != null) {
+                deltas.computeIfAbsent(change.previous().userId(), id -> new Delta()).subtract(change.previous());
+            }
+            deltas.computeIfAbsent(change.current().userId(), id -> new Delta()).add(change.current());
+        }
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Recomputes the Statistics of all Users from the stored trainings, replacing the existing ones.
+     * Users are processed in chunks of {@value #RECALCULATION_USER_CHUNK_SIZE} consecutive IDs, each in its own
+     * transaction, so memory, the persistence context and the locks held are bounded by a chunk instead of growing
+     * with the number of Users. Runs as well after trainings were imported to the database directly.
+     */
+    @EventListener(TrainingsImportedEvent.class)
+    public void recalculate() {
+        log.info("Recalculating Statistics of all Users");
+        long start = System.nanoTime();
+        long highestUserId = userProvider.findHighestUserId().orElse(0L);
+        CalorieEstimator.Batch batch = new CalorieEstimator.Batch(RECALCULATION_BATCH_SIZE);
+        long users = 0;
+        for (long afterUserId = 0; afterUserId < highestUserId; afterUserId += RECALCULATION_USER_CHUNK_SIZE) {
+            long chunkAfterUserId = afterUserId;
+            long chunkToUserId = Math.min(afterUserId + RECALCULATION_USER_CHUNK_SIZE, highestUserId);
+            users += transactionTemplate.execute(status -> recalculate(chunkAfterUserId, chunkToUserId, batch));
+        }
+        log.info("Recalculated Statistics of {} Users in {} ms", users, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Replaces the Statistics of the Users with IDs in {@code (afterUserId, toUserId]}. Their trainings are streamed
+     * once into column batches estimated by {@link CalorieEstimator#estimate(CalorieEstimator.Batch)}, only the totals
+     * of the Users of the chunk are kept in memory.
+     *
+     * @return number of Users having Statistics
+     */
+    private int recalculate(long afterUserId, long toUserId, CalorieEstimator.Batch batch) {
+        Map<Long, Delta> totals = new HashMap<>();
+        trainingProvider.forEachTrainingOfUsers(afterUserId, toUserId, training -> {
+            if (batch.add(TrainingSnapshot.of(training))) {
+                accumulate(batch, totals);
+            }
+        });
+        accumulate(batch, totals);
+
+        entityManager.flush();
+        statisticsRepository.deleteByUserIdRange(afterUserId, toUserId);
+        entityManager.clear();
+        totals.forEach((userId, total) -> {
+            Statistics statistics = new Statistics(entityManager.getReference(User.class, userId));
+            statistics.setTotalTrainings(total.trainings);
+            statistics.setTotalDistance(total.distance);
+            statistics.setTotalCaloriesBurned(total.calories);
+            entityManager.persist(statistics);
+        });
+        entityManager.flush();
+        entityManager.clear();
+        return totals.size();
+    }
+
+    private static void accumulate(CalorieEstimator.Batch batch, Map<Long, Delta> totals) {
+        CalorieEstimator.estimate(batch);
+        for (int i = 0; i < batch.size; i++) {
+            Delta total = totals.computeIfAbsent(batch.userIds[i], id -> new Delta());
+            total.trainings++;
+            total.distance += batch.distances[i];
+            total.calories += batch.calories[i];
+        }
+        batch.clear();
+    }
+
+    private void apply(Long userId, Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        log.info("Applying {} to Statistics of User with ID={}", delta, userId);
+        Statistics statistics = statisticsRepository.findForUpdate(userId)
+                .orElseGet(() -> {
+                    RowInserts.insertIfAbsent(entityManager, INSERT_EMPTY_STATISTICS, userId);
+                    return statisticsRepository.findForUpdate(userId).orElseThrow();
+                });
+        statistics.setTotalTrainings(statistics.getTotalTrainings() + delta.trainings);
+        statistics.setTotalDistance(statistics.getTotalDistance() + delta.distance);
+        statistics.setTotalCaloriesBurned(statistics.getTotalCaloriesBurned() + delta.calories);
+        if (statistics.getTotalTrainings() <= 0) {
+            statisticsRepository.delete(statistics);
+        }
+    }
+
+    /**
+     * Change of the totals of a single User.
+     */
+    private static final class Delta {
+
+        private int trainings;
+        private double distance;
+        private int calories;
+
+        void add(TrainingSnapshot training) {
+            trainings++;
+            distance += training.distance();
+            calories += CalorieEstimator.estimate(training);
+        }
+
+        void subtract(TrainingSnapshot training) {
+            trainings--;
+            distance -= training.distance();
+            calories -= CalorieEstimator.estimate(training);
+        }
+
+        boolean isEmpty() {
+            return trainings == 0 && distance == 0 && calories == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Delta(trainings=%d, distance=%s, calories=%d)".formatted(trainings, distance, calories);
+        }
+    }
+}
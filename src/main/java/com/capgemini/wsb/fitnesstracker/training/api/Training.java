@@ -2,37 +2,79 @@ package com.capgemini.wsb.fitnesstracker.training.api;
 
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Date;
 @Entity
-@Table(name = "trainings")
+@Table(name = "trainings", indexes = {
+        @Index(name = "idx_trainings_user_id_end_time", columnList = "user_id, end_time"),
+        @Index(name = "idx_trainings_end_time", columnList = "end_time, id"),
+        @Index(name = "idx_trainings_activity_type_end_time", columnList = "activity_type, end_time"),
+        @Index(name = "idx_trainings_activity_type_distance", columnList = "activity_type, distance"),
+        @Index(name = "idx_trainings_activity_type_average_speed", columnList = "activity_type, average_speed")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Training.CACHE_REGION)
 @Setter // added to not have to create a reflection
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 public class Training {
 
+    public static final String CACHE_REGION = "training-entities";
+
+    /**
+     * Sequence of the IDs and the number of IDs Hibernate takes from a single sequence value.
+     * Bulk loads writing IDs themselves restart the sequence past them.
+     */
+    public static final String ID_SEQUENCE = "trainings_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Query cache region of the queries filtering trainings by activity type.
+     */
+    public static final String ACTIVITY_TYPE_QUERY_REGION = "training-by-activity-type-queries";
+
+    /**
+     * Query cache region of the queries filtering trainings by a range of end times.
+     */
+    public static final String TIME_RANGE_QUERY_REGION = "training-by-time-range-queries";
+
+    /**
+     * Generated from a pooled sequence, so Hibernate can assign IDs without a round trip per insert
+     * and group the inserts into JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    /**
+     * Loaded lazily; queries returning trainings together with their users fetch them in the same statement.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
     private User user;
 
     @Column(name = "start_time", nullable = false)
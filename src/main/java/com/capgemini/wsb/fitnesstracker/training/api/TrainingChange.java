@@ -0,0 +1,23 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Single write of a {@link Training}.
+ *
+ * @param previous state before the write, {@code null} if the training was created
+ * @param current  state after the write
+ */
+public record TrainingChange(
+        @Nullable
+        TrainingSnapshot previous,
+        TrainingSnapshot current) {
+
+    public static TrainingChange created(Training training) {
+        return new TrainingChange(null, TrainingSnapshot.of(training));
+    }
+
+    public static TrainingChange updated(TrainingSnapshot previous, Training training) {
+        return new TrainingChange(previous, TrainingSnapshot.of(training));
+    }
+}
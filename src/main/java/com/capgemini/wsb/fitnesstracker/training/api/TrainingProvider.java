@@ -1,10 +1,13 @@
 package com.capgemini.wsb.fitnesstracker.training.api;
 
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for providing training-related operations.
@@ -27,6 +30,35 @@ public interface TrainingProvider {
      */
     List<Training> findAllTrainings();
 
+    /**
+     * Retrieves a page of trainings ordered by end time and ID, starting right after the given keyset position.
+     *
+     * @param afterEndTime end time of the last training of the previous page, {@code null} for the first page.
+     * @param afterId ID of the last training of the previous page, {@code null} for the first page.
+     * @param limit maximum number of trainings to return.
+     * @return list of at most {@code limit} trainings.
+     */
+    List<Training> findTrainingsPage(@Nullable Date afterEndTime, @Nullable Long afterId, int limit);
+
+    /**
+     * Passes every training to the given action, one at a time, without loading all of them into memory.
+     * Trainings are detached after the action returns, so the action must not rely on lazy loading afterwards.
+     *
+     * @param action action invoked for every training in ID order.
+     */
+    void forEachTraining(Consumer<Training> action);
+
+    /**
+     * Passes every training of the users with IDs in {@code (afterUserId, toUserId]} to the given action, one at a time,
+     * without loading all of them into memory, so derived data can be rebuilt a range of users at a time.
+     * Trainings are detached after the action returns, so the action must not rely on lazy loading afterwards.
+     *
+     * @param afterUserId ID of the user preceding the range, exclusive.
+     * @param toUserId ID of the last user of the range, inclusive.
+     * @param action action invoked for every training in user ID order.
+     */
+    void forEachTrainingOfUsers(long afterUserId, long toUserId, Consumer<Training> action);
+
     /**
      * Retrieves all trainings for a specific user by user ID.
      *
@@ -61,4 +93,26 @@ public interface TrainingProvider {
      */
     List<Training> findByUserIdFromLastMonth(Long userId, Date startOfLastMonth, Date endOfLastMonth);
 
+    /**
+     * Retrieves trainings of a specific user that ended within the given period.
+     * By default the database is queried by the user and end time. Single-instance deployments may enable
+     * an in-memory index of end times with {@code training.time-index.enabled}; once it is built, the trainings are
+     * located by the index and loaded by ID, so the cost does not depend on the number of trainings outside the period.
+     *
+     * @param userId the ID of the user.
+     * @param from start of the period, inclusive.
+     * @param to end of the period, inclusive.
+     * @return list of trainings ordered by end time.
+     */
+    List<Training> findTrainingsForUserBetween(Long userId, Date from, Date to);
+
+    /**
+     * Counts trainings of every user that ended within the given period, using a single aggregation query.
+     *
+     * @param from start of the period, inclusive.
+     * @param to end of the period, inclusive.
+     * @return number of trainings keyed by user ID; users without trainings in the period are absent.
+     */
+    Map<Long, Long> countTrainingsPerUser(Date from, Date to);
+
 }
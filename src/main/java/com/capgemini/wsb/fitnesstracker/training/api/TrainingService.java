@@ -1,6 +1,9 @@
 package com.capgemini.wsb.fitnesstracker.training.api;
 
 import com.capgemini.wsb.fitnesstracker.training.internal.CreateOrUpdateTrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingBatchItemDto;
+
+import java.util.List;
 
 /**
  * Interface for managing training-related operations.
@@ -15,6 +18,15 @@ public interface TrainingService {
      */
     Training saveTraining(CreateOrUpdateTrainingDto createTrainingDto);
 
+    /**
+     * Saves a batch of new trainings in a single transaction.
+     * Items referencing a missing user or lacking required fields are rejected, the remaining ones are saved.
+     *
+     * @param createTrainingDtos the DTOs containing the training details.
+     * @return the result of every item, in request order.
+     */
+    List<TrainingBatchItemDto> saveTrainings(List<CreateOrUpdateTrainingDto> createTrainingDtos);
+
     /**
      * Updates an existing training.
      *
@@ -0,0 +1,47 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * Immutable copy of the {@link Training} state, taken when the training is written.
+ *
+ * @param id            ID of the training
+ * @param userId        ID of the user owning the training
+ * @param userBirthdate birthdate of the user owning the training
+ * @param startTime     start time of the training
+ * @param endTime       end time of the training
+ * @param activityType  type of the activity
+ * @param distance      distance covered during the training
+ * @param averageSpeed  average speed during the training
+ */
+public record TrainingSnapshot(
+        Long id,
+        Long userId,
+        LocalDate userBirthdate,
+        Date startTime,
+        Date endTime,
+        ActivityType activityType,
+        double distance,
+        double averageSpeed) {
+
+    public static TrainingSnapshot of(Training training) {
+        return new TrainingSnapshot(training.getId(),
+                                    training.getUser().getId(),
+                                    training.getUser().getBirthdate(),
+                                    training.getStartTime(),
+                                    training.getEndTime(),
+                                    training.getActivityType(),
+                                    training.getDistance(),
+                                    training.getAverageSpeed());
+    }
+
+    /**
+     * @return duration of the training in milliseconds.
+     */
+    public long durationMillis() {
+        return endTime.getTime() - startTime.getTime();
+    }
+}
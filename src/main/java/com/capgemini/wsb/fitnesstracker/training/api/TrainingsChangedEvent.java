@@ -0,0 +1,14 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import java.util.List;
+
+/**
+ * Event published by the {@link TrainingService} within the writing transaction, after trainings were created or updated.
+ * Modules maintaining data derived from trainings listen to it instead of re-reading all trainings.
+ * Writes done to the database directly (e.g. by the synthetic data loader) do not publish it,
+ * they publish a {@link TrainingsImportedEvent} once done.
+ *
+ * @param changes changes of the trainings written in the transaction
+ */
+public record TrainingsChangedEvent(List<TrainingChange> changes) {
+}
@@ -0,0 +1,13 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+/**
+ * Event published after trainings were written to the database directly, bypassing the {@link TrainingService},
+ * e.g. by bulk data loads. Modules persisting data derived from trainings rebuild it from the stored trainings
+ * a range of users at a time, see {@link TrainingProvider#forEachTrainingOfUsers}, so the memory and the transaction
+ * of the rebuild do not grow with the size of the import;
+ * in-memory views are built from the database once the application is ready, after the loads at startup.
+ *
+ * @param trainings number of imported trainings
+ */
+public record TrainingsImportedEvent(long trainings) {
+}
@@ -0,0 +1,26 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Result of saving a single item of a batch of trainings.
+ *
+ * @param index      position of the item in the request
+ * @param trainingId ID of the saved training, {@code null} if the item was rejected
+ * @param error      reason of the rejection, {@code null} if the item was saved
+ */
+public record TrainingBatchItemDto(
+        int index,
+        @Nullable
+        Long trainingId,
+        @Nullable
+        String error) {
+
+    static TrainingBatchItemDto saved(int index, Long trainingId) {
+        return new TrainingBatchItemDto(index, trainingId, null);
+    }
+
+    static TrainingBatchItemDto rejected(int index, String error) {
+        return new TrainingBatchItemDto(index, null, error);
+    }
+}
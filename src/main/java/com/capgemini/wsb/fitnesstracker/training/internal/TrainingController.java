@@ -1,7 +1,17 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Cursors;
+import com.capgemini.wsb.fitnesstracker.pagination.api.InvalidCursorException;
+import com.capgemini.wsb.fitnesstracker.pagination.api.PageDto;
+import com.capgemini.wsb.fitnesstracker.pagination.api.PaginationProperties;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,7 +21,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
@@ -26,20 +39,65 @@ import java.util.List;
 @RequiredArgsConstructor
 class TrainingController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final TrainingServiceImpl trainingService;
     private final TrainingMapper trainingMapper;
+    private final PaginationProperties paginationProperties;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Gets a list of all trainings.
+     * Gets a page of all trainings ordered by end time and ID.
      *
-     * @return list of {@link TrainingDto} representing all trainings.
+     * @param cursor opaque cursor returned as {@code next} by the previous page, absent for the first page.
+     * @param size requested page size, clamped to the configured maximum.
+     * @return {@link PageDto} of {@link TrainingDto} with the cursor of the following page.
+     * @throws InvalidCursorException if the cursor is malformed.
      */
     @GetMapping
-    public List<TrainingDto> getAllTrainings() {
-        return trainingService.findAllTrainings()
-                .stream()
-                .map(trainingMapper::fromTraining)
-                .toList();
+    public PageDto<TrainingDto> getAllTrainings(@RequestParam(value = "cursor", required = false) @Nullable String cursor,
+                                                @RequestParam(value = "size", required = false) @Nullable Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<Training> trainings;
+        if (cursor == null) {
+            trainings = trainingService.findTrainingsPage(null, null, pageSize + 1);
+        } else {
+            long[] position = Cursors.decode(cursor, 2);
+            trainings = trainingService.findTrainingsPage(new Date(position[0]), position[1], pageSize + 1);
+        }
+        return PageDto.of(trainings,
+                          pageSize,
+                          trainingMapper::fromTraining,
+                          training -> Cursors.encode(training.getEndTime().getTime(), training.getId()));
+    }
+
+    /**
+     * Exports all trainings as newline-delimited JSON, one {@link TrainingDto} per line.
+     * Rows are streamed from the database cursor directly to the response, so the export runs in constant memory
+     * and the first bytes are sent before the whole table has been read.
+     *
+     * @return streaming body writing all trainings in ID order.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTrainings() {
+        ObjectWriter writer = objectMapper.writerFor(TrainingDto.class);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                trainingService.forEachTraining(training -> {
+                    try {
+                        outputStream.write(writer.writeValueAsBytes(trainingMapper.fromTraining(training)));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
     /**
@@ -98,6 +156,18 @@ class TrainingController {
         return trainingMapper.fromTraining(trainingService.saveTraining(createTrainingDto));
     }
 
+    /**
+     * Creates a batch of new trainings in a single transaction.
+     * Invalid items are reported individually and do not prevent the valid ones from being saved.
+     *
+     * @param createTrainingDtos the DTOs containing the training details.
+     * @return list of {@link TrainingBatchItemDto} with the result of every item, in request order.
+     */
+    @PostMapping("/batch")
+    public List<TrainingBatchItemDto> createTrainings(@RequestBody List<CreateOrUpdateTrainingDto> createTrainingDtos) {
+        return trainingService.saveTrainings(createTrainingDtos);
+    }
+
     /**
      * Updates an existing training.
      *
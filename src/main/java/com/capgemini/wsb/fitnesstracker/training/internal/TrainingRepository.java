@@ -1,68 +1,237 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for managing Training entities.
+ * All queries are resolved by the database and backed by the indexes declared on {@link Training}.
+ * Queries returning trainings to be rendered with their users fetch the users in the same statement
+ * through the {@value #WITH_USER} entity graph, as {@link Training#getUser()} is lazy.
+ * Results of the activity type and end time range queries are kept in the query cache; they are invalidated
+ * by Hibernate on every write to the trainings table.
  */
 interface TrainingRepository extends JpaRepository<Training, Long> {
 
+    /**
+     * Number of rows the JDBC driver fetches per round trip while streaming.
+     */
+    int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Attribute path of the entity graph fetching the user together with the training.
+     */
+    String WITH_USER = "user";
+
+    /**
+     * Finds all trainings together with their users.
+     *
+     * @return list of all trainings.
+     */
+    @Override
+    @EntityGraph(attributePaths = WITH_USER)
+    List<Training> findAll();
+
+    /**
+     * Streams all trainings together with their users in ID order, straight from the JDBC cursor.
+     * Must be consumed within a transaction and closed afterwards.
+     *
+     * @return stream of read-only trainings.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Training t join fetch t.user order by t.id")
+    Stream<Training> streamAll();
+
+    /**
+     * Streams the trainings of a range of users together with the users, straight from the JDBC cursor,
+     * served by the {@code (user_id, end_time)} index. Must be consumed within a transaction and closed afterwards.
+     *
+     * @param afterUserId ID of the user preceding the range, exclusive.
+     * @param toUserId ID of the last user of the range, inclusive.
+     * @return stream of read-only trainings in user ID order.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select t from Training t join fetch t.user u
+            where u.id > :afterUserId and u.id <= :toUserId
+            order by u.id
+            """)
+    Stream<Training> streamByUserIdRange(@Param("afterUserId") long afterUserId, @Param("toUserId") long toUserId);
+
+    /**
+     * Streams the end time of every training together with the IDs of the training and its user,
+     * without loading the entities. Must be consumed within a transaction and closed afterwards.
+     *
+     * @return stream of end times in no particular order.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t.id as id, t.user.id as userId, t.endTime as endTime from Training t")
+    Stream<TrainingEndTime> streamEndTimes();
+
+    /**
+     * Finds the trainings with the given IDs together with their users.
+     *
+     * @param ids IDs of the trainings.
+     * @return list of the trainings that exist, in no particular order.
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    List<Training> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Finds the first page of trainings in {@code (endTime, id)} order.
+     * Served by the {@code (end_time, id)} index.
+     *
+     * @param pageable page request carrying the limit, its sort is ignored.
+     * @return list of at most {@code pageable.getPageSize()} trainings.
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("select t from Training t order by t.endTime, t.id")
+    List<Training> findFirstPage(Pageable pageable);
+
+    /**
+     * Finds the page of trainings following the given keyset position in {@code (endTime, id)} order.
+     * The redundant {@code endTime >= :endTime} predicate lets the database seek the {@code (end_time, id)} index
+     * instead of evaluating the disjunction on every row.
+     *
+     * @param endTime end time of the last training of the previous page.
+     * @param id ID of the last training of the previous page.
+     * @param pageable page request carrying the limit, its sort is ignored.
+     * @return list of at most {@code pageable.getPageSize()} trainings.
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("""
+            select t from Training t
+            where t.endTime >= :endTime
+              and (t.endTime > :endTime or t.id > :id)
+            order by t.endTime, t.id
+            """)
+    List<Training> findPageAfter(@Param("endTime") Date endTime, @Param("id") Long id, Pageable pageable);
+
     /**
      * Finds all trainings for a specific user by user ID.
+     * Served by the {@code (user_id, end_time)} index.
      *
      * @param userId the ID of the user.
      * @return list of trainings for the specified user.
      */
-    default List<Training> findByUserId(Long userId) {
-        return findAll().stream()
-                .filter(training -> Objects.equals(training.getUser().getId(), userId))
-                .toList();
-    }
+    @EntityGraph(attributePaths = WITH_USER)
+    List<Training> findByUserId(Long userId);
 
     /**
      * Finds all trainings that ended after a specific time.
+     * Served by the {@code (end_time)} index.
      *
      * @param time the time to compare against.
      * @return list of trainings that ended after the specified time.
      */
-    default List<Training> findByEndTimeAfter(Date time) {
-        return findAll().stream()
-                .filter(training -> training.getEndTime().after(time))
-                .toList();
-    }
+    @EntityGraph(attributePaths = WITH_USER)
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Training.TIME_RANGE_QUERY_REGION)
+    })
+    List<Training> findByEndTimeAfter(Date time);
 
     /**
      * Finds all trainings by activity type.
+     * Served by the {@code (activity_type, end_time)} index.
      *
      * @param activityType the type of activity.
      * @return list of trainings with the specified activity type.
      */
-    default List<Training> findByActivityType(ActivityType activityType) {
-        return findAll().stream()
-                .filter(training -> Objects.equals(training.getActivityType(), activityType))
-                .toList();
-    }
+    @EntityGraph(attributePaths = WITH_USER)
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Training.ACTIVITY_TYPE_QUERY_REGION)
+    })
+    List<Training> findByActivityType(ActivityType activityType);
 
     /**
      * Finds all trainings for a specific user that ended in the last month.
+     * Both boundaries are inclusive. Served by the {@code (user_id, end_time)} index.
      *
      * @param userId the ID of the user.
      * @param startOfLastMonth the start date of the last month.
      * @param endOfLastMonth the end date of the last month.
      * @return list of trainings for the specified user that ended in the last month.
      */
-    default List<Training> findByUserIdFromLastMonth(Long userId, Date startOfLastMonth, Date endOfLastMonth) {
-        return findAll().stream()
-                .filter(training ->
-                        Objects.equals(training.getUser().getId(), userId) &&
-                                !training.getEndTime().before(startOfLastMonth) &&
-                                !training.getEndTime().after(endOfLastMonth)
-                )
-                .toList();
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Training.TIME_RANGE_QUERY_REGION)
+    })
+    @Query("""
+            select t from Training t
+            where t.user.id = :userId
+              and t.endTime between :startOfLastMonth and :endOfLastMonth
+            """)
+    List<Training> findByUserIdFromLastMonth(@Param("userId") Long userId,
+                                             @Param("startOfLastMonth") Date startOfLastMonth,
+                                             @Param("endOfLastMonth") Date endOfLastMonth);
+
+    /**
+     * Counts trainings per user that ended within the given period, in a single grouped query
+     * over the end time index. Users without trainings in the period are not returned.
+     *
+     * @param from start of the period, inclusive.
+     * @param to end of the period, inclusive.
+     * @return number of trainings of every user having at least one in the period.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Training.TIME_RANGE_QUERY_REGION)
+    })
+    @Query("""
+            select t.user.id as userId, count(t) as trainings from Training t
+            where t.endTime between :from and :to
+            group by t.user.id
+            """)
+    List<UserTrainingCount> countPerUserEndedBetween(@Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * End time of a single training.
+     */
+    interface TrainingEndTime {
+
+        Long getId();
+
+        Long getUserId();
+
+        Date getEndTime();
+    }
+
+    /**
+     * Number of trainings of a single user.
+     */
+    interface UserTrainingCount {
+
+        Long getUserId();
+
+        long getTrainings();
     }
 }
@@ -1,19 +1,38 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChange;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
 import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
 import lombok.RequiredArgsConstructor;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing Trainings.
@@ -25,6 +44,10 @@ public class TrainingServiceImpl implements TrainingProvider, TrainingService {
 
     private final TrainingRepository trainingRepository;
     private final UserRepository userRepository;
+    private final UserProvider userProvider;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<TrainingTimeIndex> trainingTimeIndex;
 
     /**
      * Fetches a Training by its ID.
@@ -49,6 +72,68 @@ public class TrainingServiceImpl implements TrainingProvider, TrainingService {
         return trainingRepository.findAll();
     }
 
+    /**
+     * Gets a page of Trainings ordered by end time and ID.
+     *
+     * @param afterEndTime end time of the last Training of the previous page, {@code null} for the first page.
+     * @param afterId ID of the last Training of the previous page, {@code null} for the first page.
+     * @param limit maximum number of Trainings to return.
+     * @return list of at most {@code limit} Trainings.
+     */
+    @Override
+    public List<Training> findTrainingsPage(@Nullable Date afterEndTime, @Nullable Long afterId, int limit) {
+        log.info("Fetching {} Trainings after endTime={} and ID={}", limit, afterEndTime, afterId);
+        if (afterEndTime == null || afterId == null) {
+            return trainingRepository.findFirstPage(PageRequest.ofSize(limit));
+        }
+        return trainingRepository.findPageAfter(afterEndTime, afterId, PageRequest.ofSize(limit));
+    }
+
+    /**
+     * Streams all Trainings from a JDBC cursor and passes them to the given action.
+     * Every Training is detached once processed and the persistence context is cleared after each fetched chunk,
+     * so the memory used does not grow with the number of Trainings.
+     *
+     * @param action action invoked for every Training in ID order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTraining(Consumer<Training> action) {
+        log.info("Streaming all Trainings");
+        long processed = forEach(trainingRepository.streamAll(), action);
+        log.info("Streamed {} Trainings", processed);
+    }
+
+    /**
+     * Streams the Trainings of the Users with IDs in {@code (afterUserId, toUserId]} from a JDBC cursor
+     * and passes them to the given action, keeping the memory used independent of the number of Trainings
+     * the same way as {@link #forEachTraining(Consumer)}.
+     *
+     * @param afterUserId ID of the User preceding the range, exclusive.
+     * @param toUserId ID of the last User of the range, inclusive.
+     * @param action action invoked for every Training in User ID order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTrainingOfUsers(long afterUserId, long toUserId, Consumer<Training> action) {
+        log.debug("Streaming Trainings of Users with ID in ({}, {}]", afterUserId, toUserId);
+        forEach(trainingRepository.streamByUserIdRange(afterUserId, toUserId), action);
+    }
+
+    private long forEach(Stream<Training> stream, Consumer<Training> action) {
+        long processed = 0;
+        try (stream) {
+            for (Training training : (Iterable<Training>) stream::iterator) {
+                action.accept(training);
+                entityManager.detach(training);
+                if (++processed % TrainingRepository.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return processed;
+    }
+
     /**
      * Gets all Trainings for a specific user by user ID.
      *
@@ -96,7 +181,51 @@ public class TrainingServiceImpl implements TrainingProvider, TrainingService {
     @Override
     public List<Training> findByUserIdFromLastMonth(Long userId, Date startOfLastMonth, Date endOfLastMonth) {
         log.info("Fetching all Trainings from last month for userId {}", userId);
-        return trainingRepository.findByUserIdFromLastMonth(userId, startOfLastMonth, endOfLastMonth);
+        return findTrainingsForUserBetween(userId, startOfLastMonth, endOfLastMonth);
+    }
+
+    /**
+     * Gets Trainings of a specific user that ended within the given period.
+     * The database is queried by end time, unless the {@link TrainingTimeIndex} of a single-instance deployment
+     * is enabled and built: IDs of the Trainings are then resolved by the index and the Trainings loaded by ID.
+     * Loaded Trainings are checked against the period again, in case they were changed bypassing this service.
+     *
+     * @param userId the ID of the user.
+     * @param from start of the period, inclusive.
+     * @param to end of the period, inclusive.
+     * @return list of Trainings ordered by end time.
+     */
+    @Override
+    public List<Training> findTrainingsForUserBetween(Long userId, Date from, Date to) {
+        log.info("Fetching Trainings of User with ID={} ended between {} and {}", userId, from, to);
+        TrainingTimeIndex index = trainingTimeIndex.getIfAvailable();
+        if (index == null || !index.isReady()) {
+            return trainingRepository.findByUserIdFromLastMonth(userId, from, to);
+        }
+        long[] ids = index.findTrainingIds(userId, from.getTime(), to.getTime());
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return trainingRepository.findByIdIn(LongStream.of(ids).boxed().toList()).stream()
+                .filter(training -> userId.equals(training.getUser().getId())
+                        && !training.getEndTime().before(from) && !training.getEndTime().after(to))
+                .sorted(Comparator.comparing(Training::getEndTime).thenComparing(Training::getId))
+                .toList();
+    }
+
+    /**
+     * Counts Trainings of every user that ended within the given period.
+     *
+     * @param from start of the period, inclusive.
+     * @param to end of the period, inclusive.
+     * @return number of Trainings keyed by user ID.
+     */
+    @Override
+    public Map<Long, Long> countTrainingsPerUser(Date from, Date to) {
+        log.info("Counting Trainings per user ended between {} and {}", from, to);
+        return trainingRepository.countPerUserEndedBetween(from, to).stream()
+                .collect(Collectors.toMap(TrainingRepository.UserTrainingCount::getUserId,
+                                          TrainingRepository.UserTrainingCount::getTrainings));
     }
 
     /**
@@ -106,12 +235,59 @@ public class TrainingServiceImpl implements TrainingProvider, TrainingService {
      * @return the saved Training.
      */
     @Override
+    @Transactional
     public Training saveTraining(CreateOrUpdateTrainingDto createTrainingDto) {
-        User user = userRepository.findById(createTrainingDto.getUserId())
+        User user = userProvider.getUser(createTrainingDto.getUserId())
                 .orElseThrow(() -> new UserNotFoundException(createTrainingDto.getUserId()));
         Training training = newTrainingForUserWithTrainingDetails(user, createTrainingDto);
         log.info("Saving Training: {}", training);
-        return trainingRepository.save(training);
+        Training saved = trainingRepository.save(training);
+        eventPublisher.publishEvent(new TrainingsChangedEvent(List.of(TrainingChange.created(saved))));
+        return saved;
+    }
+
+    /**
+     * Saves a batch of new Trainings.
+     * All referenced users are resolved with a single query and the accepted Trainings are inserted in JDBC batches.
+     *
+     * @param createTrainingDtos the DTOs containing the training details.
+     * @return the result of every item, in request order.
+     */
+    @Override
+    @Transactional
+    public List<TrainingBatchItemDto> saveTrainings(List<CreateOrUpdateTrainingDto> createTrainingDtos) {
+        log.info("Saving batch of {} Trainings", createTrainingDtos.size());
+        Map<Long, User> users = userRepository.findAllById(createTrainingDtos.stream()
+                                                                   .map(CreateOrUpdateTrainingDto::getUserId)
+                                                                   .filter(Objects::nonNull)
+                                                                   .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        TrainingBatchItemDto[] results = new TrainingBatchItemDto[createTrainingDtos.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Training> accepted = new ArrayList<>();
+        for (int i = 0; i < createTrainingDtos.size(); i++) {
+            CreateOrUpdateTrainingDto dto = createTrainingDtos.get(i);
+            String error = validateBatchItem(dto, users);
+            if (error != null) {
+                results[i] = TrainingBatchItemDto.rejected(i, error);
+            } else {
+                acceptedIndexes.add(i);
+                accepted.add(newTrainingForUserWithTrainingDetails(users.get(dto.getUserId()), dto));
+            }
+        }
+
+        List<Training> saved = trainingRepository.saveAll(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = TrainingBatchItemDto.saved(index, saved.get(i).getId());
+        }
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new TrainingsChangedEvent(saved.stream().map(TrainingChange::created).toList()));
+        }
+        log.info("Saved {} of {} Trainings from batch", saved.size(), createTrainingDtos.size());
+        return List.of(results);
     }
 
     /**
@@ -122,11 +298,13 @@ public class TrainingServiceImpl implements TrainingProvider, TrainingService {
      * @return the updated Training.
      */
     @Override
+    @Transactional
     public Training updateTraining(Long trainingId, CreateOrUpdateTrainingDto updateTrainingDto) {
         Training training = trainingRepository.findById(trainingId)
                 .orElseThrow(() -> new TrainingNotFoundException(trainingId));
+        TrainingSnapshot previous = TrainingSnapshot.of(training);
         if (updateTrainingDto.getUserId() != null) {
-            User user = userRepository.findById(updateTrainingDto.getUserId())
+            User user = userProvider.getUser(updateTrainingDto.getUserId())
                     .orElseThrow(() -> new UserNotFoundException(updateTrainingDto.getUserId()));
             training.setUser(user);
         }
@@ -136,7 +314,29 @@ public class TrainingServiceImpl implements TrainingProvider, TrainingService {
         training.setDistance(updateTrainingDto.getDistance());
         training.setAverageSpeed(updateTrainingDto.getAverageSpeed());
         log.info("Updating Training: {}", training);
-        return trainingRepository.save(training);
+        Training saved = trainingRepository.save(training);
+        eventPublisher.publishEvent(new TrainingsChangedEvent(List.of(TrainingChange.updated(previous, saved))));
+        return saved;
+    }
+
+    /**
+     * Validates a single item of a batch of Trainings.
+     *
+     * @param dto the DTO containing the training details.
+     * @param users users referenced by the batch, by ID.
+     * @return the reason of the rejection, or {@code null} if the item is valid.
+     */
+    private static String validateBatchItem(CreateOrUpdateTrainingDto dto, Map<Long, User> users) {
+        if (dto.getUserId() == null) {
+            return "userId is required";
+        }
+        if (!users.containsKey(dto.getUserId())) {
+            return new UserNotFoundException(dto.getUserId()).getMessage();
+        }
+        if (dto.getStartTime() == null || dto.getEndTime() == null || dto.getActivityType() == null) {
+            return "startTime, endTime and activityType are required";
+        }
+        return null;
     }
 
     /**
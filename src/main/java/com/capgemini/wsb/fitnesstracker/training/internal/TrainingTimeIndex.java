@@ -0,0 +1,268 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChange;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of training end times per user, answering end time range queries of a single user
+ * by binary search instead of a database round trip.
+ * Every user owns an immutable {@link Series} of end times sorted together with the IDs of their trainings;
+ * writes replace the series of the affected users, so readers never need to lock.
+ * The index is rebuilt from the database once the application is ready and afterwards follows the trainings
+ * written through {@link com.capgemini.wsb.fitnesstracker.training.api.TrainingService} once their transaction commits.
+ * Until the first rebuild completes, {@link #isReady()} returns {@code false} and callers must query the database.
+ * Only the writes of this instance are followed, so the index exists only when {@code training.time-index.enabled}
+ * is set, which is valid for single-instance deployments only; otherwise trainings are queried from the database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "training.time-index", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TrainingTimeIndex {
+
+    private final TrainingRepository trainingRepository;
+
+    private final Map<Long, Series> seriesByUser = new ConcurrentHashMap<>();
+    private final Object rebuildLock = new Object();
+    private volatile boolean ready;
+    private List<TrainingChange> changesDuringRebuild;
+
+    /**
+     * @return true once the index has been built and can answer queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the IDs of the trainings of a user that ended within the given period.
+     *
+     * @param userId ID of the user.
+     * @param from start of the period in epoch milliseconds, inclusive.
+     * @param to end of the period in epoch milliseconds, inclusive.
+     * @return IDs of the matching trainings ordered by end time and ID.
+     */
+    public long[] findTrainingIds(Long userId, long from, long to) {
+        Series series = seriesByUser.get(userId);
+        return series == null ? new long[0] : series.idsBetween(from, to);
+    }
+
+    /**
+     * Replaces the content of the index with the trainings currently stored in the database.
+     * Changes committed while the rebuild runs are replayed on top of it, as the streamed rows may predate them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        log.info("Rebuilding training time index");
+        synchronized (rebuildLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        Map<Long, Builder> builders = new HashMap<>();
+        try (Stream<TrainingRepository.TrainingEndTime> endTimes = trainingRepository.streamEndTimes()) {
+            endTimes.forEach(endTime -> builders.computeIfAbsent(endTime.getUserId(), id -> new Builder())
+                    .add(endTime.getEndTime().getTime(), endTime.getId()));
+        }
+        synchronized (rebuildLock) {
+            seriesByUser.clear();
+            builders.forEach((userId, builder) -> seriesByUser.put(userId, builder.build()));
+            changesDuringRebuild.forEach(this::apply);
+            changesDuringRebuild = null;
+            ready = true;
+        }
+        log.info("Rebuilt training time index of {} users", builders.size());
+    }
+
+    /**
+     * Moves written trainings to their current position once the transaction writing them has committed.
+     * Changes are applied under the lock, one event at a time. Listeners of transactions committing at nearly
+     * the same time may still run in the opposite order of the commits; this is accepted. Changes applied out of
+     * order mostly leave a stale entry behind, which {@link TrainingServiceImpl} filters out by checking the loaded
+     * trainings against the period; a training moved back to its previous end time by the later commit may be
+     * missing from the index instead. Either is corrected by the next {@link #rebuild()}.
+     *
+     * @param event trainings written in the committed transaction.
+     */
+    @TransactionalEventListener
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        synchronized (rebuildLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.addAll(event.changes());
+            }
+            event.changes().forEach(this::apply);
+        }
+    }
+
+    private void apply(TrainingChange change) {
+        if (change.previous() != null) {
+            TrainingSnapshot previous = change.previous();
+            seriesByUser.computeIfPresent(previous.userId(),
+                                          (userId, series) -> series.without(previous.endTime().getTime(), previous.id()));
+        }
+        TrainingSnapshot current = change.current();
+        seriesByUser.compute(current.userId(), (userId, series) -> (series == null ? Series.EMPTY : series)
+                .with(current.endTime().getTime(), current.id()));
+    }
+
+    /**
+     * Trainings of a single user: end times in ascending order with the IDs of the trainings at the same positions,
+     * trainings ending at the same time ordered by ID.
+     */
+    record Series(long[] endTimes, long[] ids) {
+
+        static final Series EMPTY = new Series(new long[0], new long[0]);
+
+        long[] idsBetween(long from, long to) {
+            if (from > to) {
+                return new long[0];
+            }
+            int start = position(from, Long.MIN_VALUE);
+            int end = position(to, Long.MAX_VALUE);
+            return Arrays.copyOfRange(ids, start, end);
+        }
+
+        Series with(long endTime, long id) {
+            int position = position(endTime, id);
+            if (position < ids.length && endTimes[position] == endTime && ids[position] == id) {
+                return this;
+            }
+            return new Series(insert(endTimes, position, endTime), insert(ids, position, id));
+        }
+
+        Series without(long endTime, long id) {
+            int position = position(endTime, id);
+            if (position == ids.length || endTimes[position] != endTime || ids[position] != id) {
+                return this;
+            }
+            return ids.length == 1 ? null : new Series(remove(endTimes, position), remove(ids, position));
+        }
+
+        /**
+         * Binary search for the first position whose {@code (endTime, id)} is not lower than the given one.
+         */
+        private int position(long endTime, long id) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (endTimes[middle] < endTime || endTimes[middle] == endTime && ids[middle] < id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static long[] insert(long[] array, int position, long value) {
+            long[] result = new long[array.length + 1];
+            System.arraycopy(array, 0, result, 0, position);
+            result[position] = value;
+            System.arraycopy(array, position, result, position + 1, array.length - position);
+            return result;
+        }
+
+        private static long[] remove(long[] array, int position) {
+            long[] result = new long[array.length - 1];
+            System.arraycopy(array, 0, result, 0, position);
+            System.arraycopy(array, position + 1, result, position, array.length - position - 1);
+            return result;
+        }
+    }
+
+    /**
+     * Collects the trainings of a user during a rebuild and sorts them once all are known.
+     */
+    private static final class Builder {
+
+        private static final int INSERTION_SORT_THRESHOLD = 16;
+
+        private long[] endTimes = new long[8];
+        private long[] ids = new long[8];
+        private int size;
+
+        void add(long endTime, long id) {
+            if (size == ids.length) {
+                endTimes = Arrays.copyOf(endTimes, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            endTimes[size] = endTime;
+            ids[size] = id;
+            size++;
+        }
+
+        Series build() {
+            sort(0, size - 1);
+            return new Series(Arrays.copyOf(endTimes, size), Arrays.copyOf(ids, size));
+        }
+
+        /**
+         * Quicksort of the positions {@code [low, high]} by end time and ID, moving both arrays together,
+         * so no boxed index array is needed. Short ranges are finished by insertion sort.
+         */
+        private void sort(int low, int high) {
+            while (high - low >= INSERTION_SORT_THRESHOLD) {
+                int middle = (low + high) >>> 1;
+                long pivotEndTime = endTimes[middle];
+                long pivotId = ids[middle];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (compare(i, pivotEndTime, pivotId) < 0) {
+                        i++;
+                    }
+                    while (compare(j, pivotEndTime, pivotId) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(i++, j--);
+                    }
+                }
+                // recurse into the shorter part, so the stack depth stays logarithmic
+                if (j - low < high - i) {
+                    sort(low, j);
+                    low = i;
+                } else {
+                    sort(i, high);
+                    high = j;
+                }
+            }
+            for (int i = low + 1; i <= high; i++) {
+                for (int j = i; j > low && compare(j - 1, endTimes[j], ids[j]) > 0; j--) {
+                    swap(j - 1, j);
+                }
+            }
+        }
+
+        private int compare(int position, long endTime, long id) {
+            return endTimes[position] != endTime ? Long.compare(endTimes[position], endTime)
+                                                 : Long.compare(ids[position], id);
+        }
+
+        private void swap(int a, int b) {
+            long endTime = endTimes[a];
+            endTimes[a] = endTimes[b];
+            endTimes[b] = endTime;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+}
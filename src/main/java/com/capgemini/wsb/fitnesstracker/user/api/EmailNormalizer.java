@@ -0,0 +1,47 @@
+package com.capgemini.wsb.fitnesstracker.user.api;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Utility producing the search keys stored alongside the {@link User}'s email:
+ * the lower-cased form used for exact lookups and the trigrams used for substring search.
+ */
+public final class EmailNormalizer {
+
+    /**
+     * Length of the n-grams stored in the email index.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private EmailNormalizer() {
+    }
+
+    /**
+     * Normalizes the email for case-insensitive comparison.
+     *
+     * @param email email to normalize, may be {@code null}
+     * @return trimmed, lower-cased email or {@code null} if {@code null} was given
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits the normalized value into distinct, overlapping {@value #GRAM_LENGTH}-character grams.
+     *
+     * @param normalized already normalized email or email fragment
+     * @return set of grams in order of appearance, empty if the value is shorter than {@value #GRAM_LENGTH}
+     */
+    public static Set<String> trigrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized == null) {
+            return grams;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -7,17 +7,25 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @Getter
 @Setter // added to not have to create a reflection
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 public class User {
 
+    public static final String CACHE_REGION = "user-entities";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Nullable
@@ -32,9 +40,32 @@ public class User {
     @Column(name = "birthdate", nullable = false)
     private LocalDate birthdate;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
+    /**
+     * Lower-cased {@link #email}, kept in sync by {@link #setEmail(String)}. Backs exact, case-insensitive lookups
+     * and guarantees uniqueness regardless of letter case.
+     */
+    @Column(name = "email_normalized", nullable = false, unique = true)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String normalizedEmail;
+
+    /**
+     * Trigrams of {@link #normalizedEmail}, kept in sync by {@link #setEmail(String)}.
+     * Indexed by gram, so substring searches only touch users sharing all grams of the searched fragment.
+     */
+    @ElementCollection
+    @CollectionTable(name = "user_email_trigrams",
+                     joinColumns = @JoinColumn(name = "user_id"),
+                     indexes = @Index(name = "idx_user_email_trigrams_trigram", columnList = "trigram, user_id"))
+    @Column(name = "trigram", nullable = false, length = EmailNormalizer.GRAM_LENGTH)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Set<String> emailTrigrams = new HashSet<>();
+
     public User(
             final String firstName,
             final String lastName,
@@ -44,7 +75,19 @@ public class User {
         this.firstName = firstName;
         this.lastName = lastName;
         this.birthdate = birthdate;
+        setEmail(email);
+    }
+
+    /**
+     * Sets the email together with its normalized form and search trigrams.
+     *
+     * @param email new email of the user
+     */
+    public void setEmail(final String email) {
         this.email = email;
+        this.normalizedEmail = EmailNormalizer.normalize(email);
+        this.emailTrigrams.clear();
+        this.emailTrigrams.addAll(EmailNormalizer.trigrams(normalizedEmail));
     }
 
 }
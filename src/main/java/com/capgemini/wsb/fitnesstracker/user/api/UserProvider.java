@@ -1,5 +1,7 @@
 package com.capgemini.wsb.fitnesstracker.user.api;
 
+import jakarta.annotation.Nullable;
+
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +33,22 @@ public interface UserProvider {
      */
     List<User> findAllUsers();
 
+    /**
+     * Retrieves a page of users ordered by ID, starting right after the given ID.
+     *
+     * @param afterId ID of the last user of the previous page, {@code null} for the first page.
+     * @param limit maximum number of users to return.
+     * @return A list of at most {@code limit} users.
+     */
+    List<User> findUsersPage(@Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves the highest ID of all users.
+     *
+     * @return An {@link Optional} containing the highest ID, or {@link Optional#empty()} if there are no users
+     */
+    Optional<Long> findHighestUserId();
+
     /**
      * Retrieves users whose email contains the specified string, ignoring case.
      *
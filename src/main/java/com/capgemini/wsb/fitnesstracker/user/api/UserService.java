@@ -33,6 +33,7 @@ public interface UserService {
      * @param userDto the DTO containing updated User information.
      * @return the updated User.
      * @throws UserNotFoundException if the User with the given ID does not exist.
+     * @throws UserEmailAlreadyExistsException if another User already uses the requested email.
      */
     User updateUser(Long userId, UserUpdateDto userDto);
 
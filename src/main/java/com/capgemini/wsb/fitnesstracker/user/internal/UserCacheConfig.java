@@ -0,0 +1,37 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caches of users read through the {@link UserServiceImpl}, keyed by ID and by normalized email.
+ * Statistics are recorded, so hits, misses and evictions are published as {@code cache.*} metrics
+ * and the caches are listed by the {@code caches} actuator endpoint.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(UserCacheProperties.class)
+class UserCacheConfig {
+
+    static final String USERS_BY_ID = "users";
+    static final String USERS_BY_EMAIL = "usersByEmail";
+
+    @Bean
+    CacheManager cacheManager(UserCacheProperties userCacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                                         .maximumSize(userCacheProperties.getMaximumSize())
+                                         .expireAfterWrite(userCacheProperties.getTimeToLive())
+                                         .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(USERS_BY_ID, USERS_BY_EMAIL));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,31 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the user caches.
+ */
+@ConfigurationProperties(prefix = "user.cache")
+@Getter
+class UserCacheProperties {
+
+    /**
+     * Maximum number of users kept in each cache; least recently used entries are evicted beyond it.
+     */
+    private final long maximumSize;
+
+    /**
+     * Time after which a cached user is reloaded from the database, bounding staleness of writes
+     * not done through the {@link UserServiceImpl}.
+     */
+    private final Duration timeToLive;
+
+    UserCacheProperties(@DefaultValue("10000") long maximumSize, @DefaultValue("10m") Duration timeToLive) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+}
@@ -1,7 +1,12 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Cursors;
+import com.capgemini.wsb.fitnesstracker.pagination.api.InvalidCursorException;
+import com.capgemini.wsb.fitnesstracker.pagination.api.PageDto;
+import com.capgemini.wsb.fitnesstracker.pagination.api.PaginationProperties;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -28,18 +33,25 @@ class UserController {
 
     private final UserServiceImpl userService;
     private final UserMapper userMapper;
+    private final PaginationProperties paginationProperties;
 
     /**
-     * Gets a list of all users.
+     * Gets a page of all users ordered by ID.
      *
-     * @return list of {@link UserDto}  representing all users.
+     * @param cursor opaque cursor returned as {@code next} by the previous page, absent for the first page.
+     * @param size requested page size, clamped to the configured maximum.
+     * @return {@link PageDto} of {@link UserDto} with the cursor of the following page.
+     * @throws InvalidCursorException if the cursor is malformed.
      */
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.findAllUsers()
-                .stream()
-                .map(userMapper::toDto)
-                .toList();
+    public PageDto<UserDto> getAllUsers(@RequestParam(value = "cursor", required = false) @Nullable String cursor,
+                                        @RequestParam(value = "size", required = false) @Nullable Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        Long afterId = cursor != null ? Cursors.decode(cursor, 1)[0] : null;
+        return PageDto.of(userService.findUsersPage(afterId, pageSize + 1),
+                          pageSize,
+                          userMapper::toDto,
+                          user -> Cursors.encode(user.getId()));
     }
 
     /**
@@ -1,39 +1,103 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.user.api.EmailNormalizer;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Query searching users by email address. It matches by exact match.
+     * Query searching users by email address. It matches by exact match, ignoring case,
+     * using the unique index on the normalized email column.
      *
      * @param email email of the user to search
      * @return {@link Optional} containing found user or {@link Optional#empty()} if none matched
      */
     default Optional<User> findByEmail(String email) {
-        return findAll().stream()
-                        .filter(user -> Objects.equals(user.getEmail(), email))
-                        .findFirst();
+        return findByNormalizedEmail(EmailNormalizer.normalize(email));
     }
 
     /**
      * Searches for users whose email contains the specified partial string, ignoring case.
+     * Fragments of at least {@value EmailNormalizer#GRAM_LENGTH} characters are resolved through the trigram index,
+     * shorter ones fall back to a {@code LIKE} over the normalized email column.
      *
      * @param emailPart partial email string to search for.
      * @return {@link List} of users whose email contains the specified partial string, ignoring case.
      */
     default List<User> findByEmailContainingIgnoreCase(String emailPart) {
-        return findAll().stream()
-                .filter(user -> user.getEmail().toLowerCase().contains(emailPart.toLowerCase()))
-                .toList();
+        String normalized = EmailNormalizer.normalize(emailPart);
+        Set<String> trigrams = EmailNormalizer.trigrams(normalized);
+        if (trigrams.isEmpty()) {
+            return findByNormalizedEmailContaining(normalized);
+        }
+        return findByEmailTrigrams(trigrams, trigrams.size(), "%" + escapeLike(normalized) + "%");
     }
 
+    /**
+     * Finds a user by the lower-cased email.
+     *
+     * @param normalizedEmail email normalized with {@link EmailNormalizer#normalize(String)}
+     * @return {@link Optional} containing found user or {@link Optional#empty()} if none matched
+     */
+    Optional<User> findByNormalizedEmail(String normalizedEmail);
+
+    /**
+     * Finds users whose lower-cased email contains the given fragment.
+     *
+     * @param normalizedEmailPart fragment normalized with {@link EmailNormalizer#normalize(String)}
+     * @return {@link List} of matching users
+     */
+    List<User> findByNormalizedEmailContaining(String normalizedEmailPart);
+
+    /**
+     * Finds users owning all the given email trigrams, then verifies the candidates against the full pattern,
+     * as sharing all trigrams does not guarantee they appear contiguously.
+     *
+     * @param trigrams     distinct trigrams of the searched fragment
+     * @param trigramCount number of distinct trigrams
+     * @param pattern      {@code LIKE} pattern escaped with {@code !}
+     * @return {@link List} of matching users ordered by ID
+     */
+    @Query("""
+            select u from User u
+            where u.id in (select c.id from User c join c.emailTrigrams g
+                           where g in :trigrams
+                           group by c.id
+                           having count(g) = :trigramCount)
+              and u.normalizedEmail like :pattern escape '!'
+            order by u.id
+            """)
+    List<User> findByEmailTrigrams(@Param("trigrams") Collection<String> trigrams,
+                                   @Param("trigramCount") long trigramCount,
+                                   @Param("pattern") String pattern);
+
+    /**
+     * Finds the page of users following the given ID in ID order, served by the primary key index.
+     *
+     * @param afterId ID of the last user of the previous page.
+     * @param pageable page request carrying the limit.
+     * @return {@link List} of at most {@code pageable.getPageSize()} users.
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Finds the highest user ID, read from the end of the primary key index.
+     *
+     * @return {@link Optional} containing the highest ID or {@link Optional#empty()} if there are no users
+     */
+    @Query("select max(u.id) from User u")
+    Optional<Long> findHighestId();
+
     /**
      * Finds users who were born before a specified cutoff date.
      *
@@ -45,4 +109,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
                 .filter(user -> user.getBirthdate().isBefore(cutoffDate))
                 .toList();
     }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_");
+    }
 }
@@ -1,17 +1,23 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.user.api.EmailNormalizer;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserEmailAlreadyExistsException;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
 import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +25,7 @@ import java.util.Optional;
 class UserServiceImpl implements UserService, UserProvider {
 
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
     /**
      * Creates a new User and saves it to the repository.
@@ -40,27 +47,32 @@ class UserServiceImpl implements UserService, UserProvider {
     }
 
     /**
-     * Gets a User by its ID.
+     * Gets a User by its ID. Found Users are cached; every call returns its own detached copy.
      *
      * @param userId ID of the User to retrieve.
      * @return an Optional containing the User if found, otherwise empty list.
      */
     @Override
     public Optional<User> getUser(final Long userId) {
-        log.info("Fetching User with ID={}", userId);
-        return userRepository.findById(userId);
+        return cached(UserCacheConfig.USERS_BY_ID, userId, () -> {
+            log.info("Fetching User with ID={}", userId);
+            return userRepository.findById(userId);
+        });
     }
 
     /**
-     * Gets a User by their email.
+     * Gets a User by their email, compared case-insensitively. Found Users are cached by the normalized email;
+     * every call returns its own detached copy.
      *
      * @param email email of the User to retrieve.
      * @return an Optional containing the User if found, otherwise empty list.
      */
     @Override
     public Optional<User> getUserByEmail(final String email) {
-        log.info("Fetching User with email={}", email);
-        return userRepository.findByEmail(email);
+        return cached(UserCacheConfig.USERS_BY_EMAIL, EmailNormalizer.normalize(email), () -> {
+            log.info("Fetching User with email={}", email);
+            return userRepository.findByEmail(email);
+        });
     }
 
     /**
@@ -74,6 +86,30 @@ class UserServiceImpl implements UserService, UserProvider {
         return userRepository.findAll();
     }
 
+    /**
+     * Gets a page of Users ordered by ID.
+     *
+     * @param afterId ID of the last User of the previous page, {@code null} for the first page.
+     * @param limit maximum number of Users to return.
+     * @return List of at most {@code limit} Users.
+     */
+    @Override
+    public List<User> findUsersPage(@Nullable final Long afterId, final int limit) {
+        log.info("Fetching {} Users after ID={}", limit, afterId);
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, PageRequest.ofSize(limit));
+    }
+
+    /**
+     * Gets the highest ID of all Users.
+     *
+     * @return an Optional containing the highest ID, empty if there are no Users.
+     */
+    @Override
+    public Optional<Long> findHighestUserId() {
+        log.info("Fetching highest User ID");
+        return userRepository.findHighestId();
+    }
+
     /**
      * Deletes a User by its ID.
      *
@@ -83,10 +119,11 @@ class UserServiceImpl implements UserService, UserProvider {
     @Override
     public void deleteUser(final Long userId) {
         log.info("Deleting User with ID={}", userId);
-        if (!userRepository.existsById(userId)) {
-            throw new UserNotFoundException(userId);
-        }
-        userRepository.deleteById(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        String email = user.getEmail();
+        userRepository.delete(user);
+        evict(userId, email);
     }
 
     /**
@@ -96,13 +133,22 @@ class UserServiceImpl implements UserService, UserProvider {
      * @param userUpdateDto DTO containing updated User information.
      * @return updated User.
      * @throws UserNotFoundException if the User with the given ID does not exist.
+     * @throws UserEmailAlreadyExistsException if another User already uses the requested email.
      */
     @Override
     public User updateUser(final Long userId, UserUpdateDto userUpdateDto) {
         log.info("Updating User with ID={}", userId);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
-        return userRepository.save(merge(user, userUpdateDto));
+        if (isEmailTakenByAnotherUser(user, userUpdateDto.email())) {
+            throw new UserEmailAlreadyExistsException(userUpdateDto.email());
+        }
+        // read before saving, as saving copies the new state onto the managed instance
+        String previousEmail = user.getEmail();
+        User updatedUser = userRepository.save(merge(user, userUpdateDto));
+        evict(userId, previousEmail);
+        evict(userId, updatedUser.getEmail());
+        return updatedUser;
     }
 
     /**
@@ -129,6 +175,68 @@ class UserServiceImpl implements UserService, UserProvider {
         return userRepository.findOlderThanBirthdate(birthdate);
     }
 
+    /**
+     * Checks whether the requested email, compared case-insensitively, already belongs to a different User.
+     *
+     * @param user User being updated.
+     * @param email requested email, {@code null} if the email is not changed.
+     * @return true if the email is used by another User.
+     */
+    private boolean isEmailTakenByAnotherUser(User user, String email) {
+        if (email == null || EmailNormalizer.normalize(email).equals(EmailNormalizer.normalize(user.getEmail()))) {
+            return false;
+        }
+        return userRepository.findByEmail(email).isPresent();
+    }
+
+    /**
+     * Reads a User through a cache. The cache holds a detached copy of the loaded User and every caller gets
+     * a copy of its own, so neither the persistence context nor a caller can change what the cache holds.
+     *
+     * @param cacheName name of the cache.
+     * @param key key of the User in the cache.
+     * @param loader reads the User from the repository on a cache miss; Users not found are not cached.
+     * @return an Optional containing a copy of the User if found, otherwise empty.
+     */
+    private Optional<User> cached(String cacheName, Object key, Supplier<Optional<User>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        User user = cache != null ? cache.get(key, User.class) : null;
+        if (user == null) {
+            Optional<User> loaded = loader.get();
+            if (loaded.isEmpty()) {
+                return loaded;
+            }
+            user = copyOf(loaded.get());
+            if (cache != null) {
+                cache.put(key, user);
+            }
+        }
+        return Optional.of(copyOf(user));
+    }
+
+    /**
+     * Removes a User from the caches, under both its ID and the given email.
+     *
+     * @param userId ID of the User.
+     * @param email email the User may be cached under.
+     */
+    private void evict(Long userId, String email) {
+        Cache usersById = cacheManager.getCache(UserCacheConfig.USERS_BY_ID);
+        if (usersById != null) {
+            usersById.evict(userId);
+        }
+        Cache usersByEmail = cacheManager.getCache(UserCacheConfig.USERS_BY_EMAIL);
+        if (usersByEmail != null) {
+            usersByEmail.evict(EmailNormalizer.normalize(email));
+        }
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User(user.getFirstName(), user.getLastName(), user.getBirthdate(), user.getEmail());
+        copy.setId(user.getId());
+        return copy;
+    }
+
     /**
      * Merges fields from a UserUpdateDto into an existing User.
      *
@@ -0,0 +1,18 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks load tests, excluded from the default build; run them with the {@code load-test} profile.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Tag("LoadTest")
+public @interface LoadTest {
+
+}
@@ -0,0 +1,202 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, as the leaderboards follow trainings once their transaction commits.
+ * Boards keep only two positions beyond the requested ones, so the tests cover positions leaving the kept ones.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "leaderboard.capacity=2")
+class LeaderboardApiIntegrationTest extends IntegrationTestBase {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LeaderboardServiceImpl leaderboardService;
+
+    @BeforeEach
+    void forgetTrainingsOfPreviousTests() {
+        leaderboardService.clear();
+    }
+
+    @Test
+    void shouldRankTrainingsByDistance_whenCreatingTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        Long shortRun = createTraining(user1, "RUNNING", "2024-01-19T09:00:00", 5.0, 10.0);
+        Long longRun = createTraining(user2, "RUNNING", "2024-01-20T09:00:00", 21.1, 11.0);
+        createTraining(user1, "CYCLING", "2024-01-21T09:00:00", 80.0, 25.0);
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "RUNNING").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metric").value("DISTANCE"))
+                .andExpect(jsonPath("$.entries", hasSize(2)))
+                .andExpect(jsonPath("$.entries[0].rank").value(1))
+                .andExpect(jsonPath("$.entries[0].trainingId").value(longRun))
+                .andExpect(jsonPath("$.entries[0].userId").value(user2.getId()))
+                .andExpect(jsonPath("$.entries[0].value").value(21.1))
+                .andExpect(jsonPath("$.entries[1].trainingId").value(shortRun));
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "RUNNING").param("limit", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries", hasSize(1)))
+                .andExpect(jsonPath("$.entries[0].trainingId").value(longRun));
+    }
+
+    @Test
+    void shouldMoveTraining_whenUpdatingTraining() throws Exception {
+        User user1 = existingUser(generateClient());
+        Long slowRun = createTraining(user1, "RUNNING", "2024-01-19T09:00:00", 5.0, 8.0);
+        Long fastRun = createTraining(user1, "RUNNING", "2024-01-20T09:00:00", 5.0, 12.0);
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", slowRun).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "2024-01-19T08:00:00", "endTime": "2024-01-19T09:00:00", "activityType": "RUNNING", "distance": 5.0, "averageSpeed": 15.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "RUNNING").param("metric", "SPEED").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries", hasSize(2)))
+                .andExpect(jsonPath("$.entries[0].trainingId").value(slowRun))
+                .andExpect(jsonPath("$.entries[0].value").value(15.0))
+                .andExpect(jsonPath("$.entries[1].trainingId").value(fastRun));
+    }
+
+    @Test
+    void shouldRankUsersByTrainingsThisWeek_whenCreatingTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        String thisWeek = LocalDateTime.now(ZoneOffset.UTC).format(DATE_TIME);
+        createTraining(user1, "WALKING", thisWeek, 3.0, 5.0);
+        createTraining(user2, "WALKING", thisWeek, 3.0, 5.0);
+        createTraining(user2, "WALKING", thisWeek, 3.0, 5.0);
+        createTraining(user1, "WALKING", "2020-01-01T09:00:00", 3.0, 5.0);
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "WALKING")
+                                .param("metric", "TRAININGS")
+                                .param("window", "WEEK")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries", hasSize(2)))
+                .andExpect(jsonPath("$.entries[0].userId").value(user2.getId()))
+                .andExpect(jsonPath("$.entries[0].value").value(2.0))
+                .andExpect(jsonPath("$.entries[0].trainingId").doesNotExist())
+                .andExpect(jsonPath("$.entries[1].userId").value(user1.getId()))
+                .andExpect(jsonPath("$.entries[1].value").value(1.0));
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "WALKING")
+                                .param("metric", "TRAININGS")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].value").value(2.0))
+                .andExpect(jsonPath("$.entries[1].value").value(2.0));
+    }
+
+    @Test
+    void shouldReadBoardAgain_whenKeptPositionsFallBelowRequestedOnes() throws Exception {
+        User user1 = existingUser(generateClient());
+        Long shortRun = createTraining(user1, "RUNNING", "2024-01-19T09:00:00", 5.0, 10.0);
+        Long mediumRun = createTraining(user1, "RUNNING", "2024-01-20T09:00:00", 10.0, 10.0);
+        Long longRun = createTraining(user1, "RUNNING", "2024-01-21T09:00:00", 21.1, 10.0);
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "RUNNING").param("limit", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].trainingId").value(longRun));
+
+        updateDistance(user1, longRun, "2024-01-21T09:00:00", 1.0);
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "RUNNING").param("limit", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].trainingId").value(mediumRun));
+
+        updateDistance(user1, mediumRun, "2024-01-20T09:00:00", 2.0);
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "RUNNING").param("limit", "3").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries", hasSize(3)))
+                .andExpect(jsonPath("$.entries[0].trainingId").value(shortRun))
+                .andExpect(jsonPath("$.entries[1].trainingId").value(mediumRun))
+                .andExpect(jsonPath("$.entries[2].trainingId").value(longRun));
+    }
+
+    @Test
+    void shouldRankUser_whenUserMissingFromKeptPositionsOvertakesThem() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        User user3 = existingUser(generateClient());
+        for (int i = 0; i < 3; i++) {
+            createTraining(user1, "TENNIS", "2024-01-19T09:00:00", 0.0, 0.0);
+        }
+        for (int i = 0; i < 2; i++) {
+            createTraining(user2, "TENNIS", "2024-01-19T09:00:00", 0.0, 0.0);
+        }
+        createTraining(user3, "TENNIS", "2024-01-19T09:00:00", 0.0, 0.0);
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "TENNIS").param("metric", "TRAININGS").param("limit", "1")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].userId").value(user1.getId()));
+
+        for (int i = 0; i < 3; i++) {
+            createTraining(user3, "TENNIS", "2024-01-19T09:00:00", 0.0, 0.0);
+        }
+
+        mockMvc.perform(get("/v1/leaderboards/{activityType}", "TENNIS").param("metric", "TRAININGS").param("limit", "1")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].userId").value(user3.getId()))
+                .andExpect(jsonPath("$.entries[0].value").value(4.0));
+    }
+
+    private void updateDistance(User user, Long trainingId, String endTime, double distance) throws Exception {
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "%s", "endTime": "%s", "activityType": "RUNNING", "distance": %s, "averageSpeed": 10.0}
+                        """.formatted(user.getId(), endTime, endTime, distance)))
+                .andExpect(status().isOk());
+    }
+
+    private Long createTraining(User user, String activityType, String endTime, double distance, double averageSpeed) throws Exception {
+        String response = mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "%s", "endTime": "%s", "activityType": "%s", "distance": %s, "averageSpeed": %s}
+                        """.formatted(user.getId(), endTime, endTime, activityType, distance, averageSpeed)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+}
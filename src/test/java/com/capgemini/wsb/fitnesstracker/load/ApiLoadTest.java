@@ -0,0 +1,203 @@
+package com.capgemini.wsb.fitnesstracker.load;
+
+import com.capgemini.wsb.fitnesstracker.LoadTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Finds the request rates the REST API sustains before its p99 latency degrades, for several traffic mixes.
+ * The application runs on a random port with a dataset generated by the synthetic data loader; every scenario
+ * is run at increasing rates until a rate misses the objectives. Reports are written to {@code target/load-reports}.
+ * <p>
+ * Run with {@code mvn -B -Pload-test test}, tuned by system properties, e.g.
+ * {@code -Dload.rates=50,100,200 -Dload.duration=PT30S -Dload.users=100000 -Dload.p99-objective-ms=100}.
+ * <p>
+ * On Java 21 or newer the dashboard traffic is additionally run by {@link PlatformThreads} and {@link VirtualThreads}
+ * against an application started with {@code spring.threads.virtual.enabled} off and on, comparing Tomcat request
+ * handling on platform and virtual threads; the {@code SenderExecutor} alone is compared by {@code SenderExecutorBenchmark}.
+ * On older runtimes the setting has no effect, so the pair is skipped.
+ */
+@LoadTest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadInitialData")
+@TestPropertySource(properties = {
+        "loader.users=${load.users:2000}",
+        "loader.trainings-per-user=${load.trainings-per-user:20}",
+        "mail.outbox.poll-interval=PT24H"
+})
+@Slf4j
+class ApiLoadTest {
+
+    private static final String JSON = "application/json";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.users:2000}")
+    private int users;
+
+    @Value("${load.rates:25,50,100,200,400,800}")
+    private List<Integer> rates;
+
+    @Value("${load.warmup:PT5S}")
+    private Duration warmup;
+
+    @Value("${load.duration:PT15S}")
+    private Duration duration;
+
+    @Value("${load.p99-objective-ms:250}")
+    private double p99ObjectiveMillis;
+
+    @Value("${load.max-error-ratio:0.01}")
+    private double maxErrorRatio;
+
+    @Value("${load.seed:42}")
+    private long seed;
+
+    /**
+     * Read-heavy traffic of users browsing their dashboards, on the threading configured for the application.
+     */
+    @Test
+    void dashboardTraffic() throws Exception {
+        run(dashboard("dashboard"), port);
+    }
+
+    /**
+     * Write-heavy traffic of devices uploading the trainings recorded since their last sync.
+     */
+    @Test
+    void syncBursts() throws Exception {
+        run(new Scenario("sync-burst", List.of(
+                new Scenario.WeightedRequest("POST /v1/trainings/batch", 50,
+                                             (uri, random) -> post(uri, "/v1/trainings/batch", trainings(random, random.nextInt(1, 31)))),
+                new Scenario.WeightedRequest("POST /v1/trainings", 30,
+                                             (uri, random) -> post(uri, "/v1/trainings", training(random, userId(random)))),
+                new Scenario.WeightedRequest("GET /v1/trainings/{userId}", 20,
+                                             (uri, random) -> get(uri, "/v1/trainings/" + userId(random))))), port);
+    }
+
+    /**
+     * Dashboard traffic served by platform threads, the baseline of {@link VirtualThreads}.
+     */
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void dashboardTraffic() throws Exception {
+            run(dashboard("dashboard-platform-threads"), port);
+        }
+    }
+
+    /**
+     * Dashboard traffic served by virtual threads, compared with {@link PlatformThreads}.
+     */
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void dashboardTraffic() throws Exception {
+            run(dashboard("dashboard-virtual-threads"), port);
+        }
+    }
+
+    private Scenario dashboard(String name) {
+        return new Scenario(name, List.of(
+                new Scenario.WeightedRequest("GET /v1/users/{id}", 20,
+                                             (uri, random) -> get(uri, "/v1/users/" + userId(random))),
+                new Scenario.WeightedRequest("GET /v1/trainings/{userId}", 30,
+                                             (uri, random) -> get(uri, "/v1/trainings/" + userId(random))),
+                new Scenario.WeightedRequest("GET /v1/statistics/{userId}", 20,
+                                             (uri, random) -> get(uri, "/v1/statistics/" + userId(random))),
+                new Scenario.WeightedRequest("GET /v1/leaderboards/RUNNING", 10,
+                                             (uri, random) -> get(uri, "/v1/leaderboards/RUNNING?window=WEEK")),
+                new Scenario.WeightedRequest("GET /v1/users", 10,
+                                             (uri, random) -> get(uri, "/v1/users?size=20")),
+                new Scenario.WeightedRequest("GET /v1/trainings", 10,
+                                             (uri, random) -> get(uri, "/v1/trainings?size=50"))));
+    }
+
+    private void run(Scenario scenario, int port) throws Exception {
+        LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port), seed, 10_000);
+        LoadReport report = new LoadReport(scenario.name(), p99ObjectiveMillis, maxErrorRatio);
+        for (int rate : rates) {
+            log.info("Running scenario {} at {} requests/s", scenario.name(), rate);
+            if (!report.add(generator.run(scenario, rate, warmup, duration))) {
+                break;
+            }
+        }
+        log.info("Load report\n{}", report.write(Path.of("target", "load-reports")));
+
+        LoadGenerator.Result lowestRate = report.steps().get(0);
+        assertThat(lowestRate.errorRatio()).isLessThanOrEqualTo(maxErrorRatio);
+    }
+
+    private long userId(SplittableRandom random) {
+        return random.nextLong(1, users + 1);
+    }
+
+    private static HttpRequest get(URI uri, String path) {
+        return HttpRequest.newBuilder(uri.resolve(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest post(URI uri, String path, String body) {
+        return HttpRequest.newBuilder(uri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String trainings(SplittableRandom random, int count) {
+        long userId = userId(random);
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < count; i++) {
+            json.add(training(random, userId));
+        }
+        return json.toString();
+    }
+
+    private static String training(SplittableRandom random, long userId) {
+        Instant start = Instant.now().minus(random.nextInt(0, 7 * 24 * 60), ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS);
+        int minutes = random.nextInt(20, 120);
+        double speed = random.nextInt(80, 140) / 10.0;
+        return String.format(Locale.ROOT, """
+                {"userId":%d,"startTime":"%s","endTime":"%s","distance":%.1f,"averageSpeed":%.1f,"activityType":"RUNNING"}""",
+                             userId, timestamp(start), timestamp(start.plus(minutes, ChronoUnit.MINUTES)),
+                             speed * minutes / 60, speed);
+    }
+
+    private static String timestamp(Instant instant) {
+        return instant.toString().replace("Z", ".000+00:00");
+    }
+}
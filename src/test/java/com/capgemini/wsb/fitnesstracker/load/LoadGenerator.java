@@ -0,0 +1,229 @@
+package com.capgemini.wsb.fitnesstracker.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started at a constant arrival rate, whether or not earlier ones have
+ * completed, as independent clients would. Latencies are recorded from the time a request was scheduled to start,
+ * not from when it was actually sent, so a stalled generator or server is not hidden by requests that were never
+ * sent in time (coordinated omission). The service time, from sending to completion, is recorded as well.
+ * Latencies are kept in microseconds in HdrHistograms, per request of the scenario. Server errors and failed
+ * connections count as errors; client errors, e.g. users without statistics, are valid responses of the mix.
+ * Requests still in flight when the run gives up waiting count as errors too, with the latency they had reached.
+ */
+final class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final long seed;
+    private final int maxInFlight;
+
+    /**
+     * @param baseUri     URI of the application the requests are sent to
+     * @param seed        seed of the random values of the requests
+     * @param maxInFlight requests in flight above which scheduled requests are dropped and counted as errors,
+     *                    protecting the generator when the server stops responding
+     */
+    LoadGenerator(URI baseUri, long seed, int maxInFlight) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUri = baseUri;
+        this.seed = seed;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sends the requests of the scenario at the given rate for the warmup and the measured duration,
+     * then waits for the requests in flight for at most {@link #DRAIN_TIMEOUT}. Measured requests still
+     * in flight afterwards are recorded as errors, with their latency up to the end of the wait.
+     *
+     * @param scenario      requests to send
+     * @param ratePerSecond requests started per second
+     * @param warmup        time during which responses are not recorded
+     * @param duration      measured time following the warmup
+     * @return latencies and errors of the requests started after the warmup
+     */
+    Result run(Scenario scenario, int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        Result result = new Result(scenario.name(), ratePerSecond, duration);
+        SplittableRandom random = new SplittableRandom(seed);
+        AtomicLong inFlight = new AtomicLong();
+        AtomicLong sequence = new AtomicLong();
+        Map<Long, Outstanding> outstanding = new ConcurrentHashMap<>();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long intendedStart = start; intendedStart < end; intendedStart += intervalNanos) {
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario.WeightedRequest request = scenario.pick(random);
+            boolean measured = intendedStart >= measureFrom;
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    result.of(request.name()).errors.increment();
+                }
+                continue;
+            }
+            long scheduled = intendedStart;
+            long sent = System.nanoTime();
+            long id = sequence.incrementAndGet();
+            if (measured) {
+                outstanding.put(id, new Outstanding(request.name(), scheduled));
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request.request().apply(baseUri, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long completed = System.nanoTime();
+                        inFlight.decrementAndGet();
+                        // recorded at most once, a request given up by the drain is not recorded again
+                        if (outstanding.remove(id) != null) {
+                            result.of(request.name()).record(scheduled, sent, completed,
+                                                             failure == null && response.statusCode() < 500);
+                        }
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        outstanding.keySet().forEach(id -> {
+            Outstanding request = outstanding.remove(id);
+            if (request != null) {
+                result.of(request.name()).recordTimedOut(request.scheduled(), drainDeadline);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Outcome of a run at a single rate.
+     */
+    static final class Result {
+
+        private final String scenario;
+        private final int targetRate;
+        private final Duration duration;
+        private final Map<String, RequestStats> requests = new ConcurrentHashMap<>();
+
+        Result(String scenario, int targetRate, Duration duration) {
+            this.scenario = scenario;
+            this.targetRate = targetRate;
+            this.duration = duration;
+        }
+
+        String scenario() {
+            return scenario;
+        }
+
+        int targetRate() {
+            return targetRate;
+        }
+
+        Map<String, RequestStats> requests() {
+            return requests;
+        }
+
+        /**
+         * @return latencies of all requests, corrected for coordinated omission
+         */
+        Histogram latency() {
+            Histogram total = new Histogram(3);
+            requests.values().forEach(stats -> total.add(stats.latency));
+            return total;
+        }
+
+        long completed() {
+            return requests.values().stream().mapToLong(stats -> stats.latency.getTotalCount()).sum();
+        }
+
+        long errors() {
+            return requests.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+        }
+
+        long failedResponses() {
+            return requests.values().stream().mapToLong(stats -> stats.failedResponses.sum()).sum();
+        }
+
+        /**
+         * @return successful responses per second; dropped requests were never completed, so only
+         *         the failed responses are subtracted from the completed ones
+         */
+        double achievedRate() {
+            return (completed() - failedResponses()) / (duration.toNanos() / 1e9);
+        }
+
+        double errorRatio() {
+            long attempted = completed() + requests.values().stream().mapToLong(RequestStats::dropped).sum();
+            return attempted == 0 ? 0 : (double) errors() / attempted;
+        }
+
+        private RequestStats of(String request) {
+            return requests.computeIfAbsent(request, name -> new RequestStats());
+        }
+    }
+
+    /**
+     * Measured request sent and not completed yet.
+     */
+    private record Outstanding(String name, long scheduled) {
+    }
+
+    /**
+     * Latencies and errors of a single request of the scenario.
+     */
+    static final class RequestStats {
+
+        final Histogram latency = new ConcurrentHistogram(3);
+        final Histogram serviceTime = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        private final LongAdder failedResponses = new LongAdder();
+
+        private void record(long scheduled, long sent, long completed, boolean successful) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - scheduled));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sent));
+            if (!successful) {
+                failedResponses.increment();
+                errors.increment();
+            }
+        }
+
+        /**
+         * Records a request still in flight when the run stopped waiting as a failed response. Its service time
+         * is unknown, so only the latency up to the end of the wait is recorded.
+         */
+        private void recordTimedOut(long scheduled, long gaveUp) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(gaveUp - scheduled));
+            failedResponses.increment();
+            errors.increment();
+        }
+
+        /**
+         * @return requests dropped before being sent, as too many were in flight
+         */
+        long dropped() {
+            return errors.sum() - failedResponses.sum();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.capgemini.wsb.fitnesstracker.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of a scenario run at increasing rates, until the p99 latency exceeds the objective or too many requests
+ * fail. Written as a text table, together with the full latency distribution of the highest sustained rate
+ * in the HdrHistogram percentile format, which can be plotted by the HdrHistogram tools.
+ */
+final class LoadReport {
+
+    private final String scenario;
+    private final double p99ObjectiveMillis;
+    private final double maxErrorRatio;
+    private final List<LoadGenerator.Result> steps = new ArrayList<>();
+
+    LoadReport(String scenario, double p99ObjectiveMillis, double maxErrorRatio) {
+        this.scenario = scenario;
+        this.p99ObjectiveMillis = p99ObjectiveMillis;
+        this.maxErrorRatio = maxErrorRatio;
+    }
+
+    /**
+     * Adds the result of a rate.
+     *
+     * @return whether the rate was sustained within the objectives
+     */
+    boolean add(LoadGenerator.Result step) {
+        steps.add(step);
+        return sustained(step);
+    }
+
+    List<LoadGenerator.Result> steps() {
+        return steps;
+    }
+
+    boolean sustained(LoadGenerator.Result step) {
+        return millis(step.latency().getValueAtPercentile(99)) <= p99ObjectiveMillis
+               && step.errorRatio() <= maxErrorRatio;
+    }
+
+    /**
+     * Writes {@code <scenario>.txt} and, if any rate was sustained, {@code <scenario>.hgrm} to the directory.
+     *
+     * @return the text report
+     */
+    String write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder report = new StringBuilder();
+        report.append("Scenario %s, objectives: p99 <= %.0f ms, errors <= %.1f%%%n%n"
+                              .formatted(scenario, p99ObjectiveMillis, maxErrorRatio * 100));
+        report.append("%8s %10s %8s %9s %9s %9s %9s %9s %12s  %s%n".formatted(
+                "rate/s", "achieved/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 svc ms", "verdict"));
+        LoadGenerator.Result highestSustained = null;
+        for (LoadGenerator.Result step : steps) {
+            Histogram latency = step.latency();
+            Histogram serviceTime = new Histogram(3);
+            step.requests().values().forEach(stats -> serviceTime.add(stats.serviceTime));
+            boolean sustained = sustained(step);
+            if (sustained) {
+                highestSustained = step;
+            }
+            report.append("%8d %10.1f %8d %9.1f %9.1f %9.1f %9.1f %9.1f %12.1f  %s%n".formatted(
+                    step.targetRate(), step.achievedRate(), step.errors(),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()), millis(serviceTime.getValueAtPercentile(99)),
+                    sustained ? "OK" : "DEGRADED"));
+        }
+
+        if (highestSustained == null) {
+            report.append("%nNo rate was sustained within the objectives.%n".formatted());
+        } else {
+            report.append("%nHighest sustained rate: %d requests/s%n%n".formatted(highestSustained.targetRate()));
+            report.append("%-28s %8s %8s %9s %9s %12s%n".formatted("request", "count", "errors", "p50 ms", "p99 ms", "p99 svc ms"));
+            Map<String, LoadGenerator.RequestStats> requests = new TreeMap<>(highestSustained.requests());
+            requests.forEach((name, stats) -> report.append("%-28s %8d %8d %9.1f %9.1f %12.1f%n".formatted(
+                    name, stats.latency.getTotalCount(), stats.errors.sum(),
+                    millis(stats.latency.getValueAtPercentile(50)), millis(stats.latency.getValueAtPercentile(99)),
+                    millis(stats.serviceTime.getValueAtPercentile(99)))));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(scenario + ".hgrm")))) {
+                highestSustained.latency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        Files.writeString(directory.resolve(scenario + ".txt"), report);
+        return report.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.capgemini.wsb.fitnesstracker.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Mix of requests sent by the {@link LoadGenerator}; every request is picked with a probability proportional
+ * to its weight.
+ *
+ * @param name     name of the scenario, used in the report
+ * @param requests weighted requests of the mix
+ */
+record Scenario(String name, List<WeightedRequest> requests) {
+
+    /**
+     * @param name    name of the request, used in the report
+     * @param weight  relative frequency of the request within the mix
+     * @param request creates the request from the base URI of the application, with random values of the generator
+     */
+    record WeightedRequest(String name, int weight, BiFunction<URI, SplittableRandom, HttpRequest> request) {
+    }
+
+    WeightedRequest pick(SplittableRandom random) {
+        int total = requests.stream().mapToInt(WeightedRequest::weight).sum();
+        int value = random.nextInt(total);
+        for (WeightedRequest request : requests) {
+            value -= request.weight();
+            if (value < 0) {
+                return request;
+            }
+        }
+        throw new IllegalStateException("Scenario " + name + " has no requests");
+    }
+}
@@ -0,0 +1,68 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the data generated at startup in a single test, as every test of the base class cleans up the database.
+ */
+@IntegrationTest
+@ActiveProfiles("loadInitialData")
+@TestPropertySource(properties = {
+        "loader.users=250",
+        "loader.trainings-per-user=4",
+        "loader.trainings-distribution=FIXED",
+        "loader.activity-mix.RUNNING=1",
+        "loader.activity-mix.TENNIS=1",
+        "loader.from=2024-01-01",
+        "loader.to=2024-07-01",
+        "loader.batch-size=100",
+        "loader.parallelism=3",
+        "mail.outbox.poll-interval=PT24H"
+})
+class SyntheticDataLoaderIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void loadInitialData_shouldGenerateConfiguredDataAndLeaveIdGeneratorsPastIt() {
+        assertThat(count("select count(*) from users")).isEqualTo(250);
+        assertThat(count("select count(*) from trainings")).isEqualTo(1000);
+        assertThat(count("select count(distinct user_id) from user_email_trigrams")).isEqualTo(250);
+        assertThat(count("select count(*) from trainings where end_time <= start_time")).isZero();
+        assertThat(count("select count(*) from trainings where start_time < timestamp '2024-01-01 00:00:00'"
+                         + " or start_time >= timestamp '2024-07-01 00:00:00'")).isZero();
+        assertThat(jdbcTemplate.queryForList("select distinct activity_type from trainings order by activity_type", Integer.class))
+                .containsExactly(ActivityType.RUNNING.ordinal(), ActivityType.TENNIS.ordinal());
+        assertThat(count("select count(*) from statistics")).isEqualTo(250);
+        assertThat(count("select sum(count) from training_rollup where bucket_granularity = 'MONTH'")).isEqualTo(1000);
+
+        User user = userService.createUser(new User("Emma", "Johnson", LocalDate.of(1996, 7, 25), "emma.johnson@domain.com"));
+        Training training = persistTraining(new Training(user, new Date(1_000), new Date(2_000), ActivityType.RUNNING, 5.0, 10.0));
+
+        assertThat(user.getId()).isGreaterThan(250);
+        assertThat(training.getId()).isGreaterThan(1000);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
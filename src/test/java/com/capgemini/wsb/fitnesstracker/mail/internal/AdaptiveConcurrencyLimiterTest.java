@@ -0,0 +1,100 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 10_000_000;
+    private static final long SLOW = 50_000_000;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(mailProperties(), meterRegistry);
+
+    @Test
+    void tryAcquire_shouldRejectWhenLimitIsReached() throws Exception {
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(limiter.tryAcquire(0)).isFalse();
+
+        limiter.onIgnored();
+
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(meterRegistry.get(AdaptiveConcurrencyLimiter.IN_FLIGHT_METRIC).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void onSuccess_shouldIncreaseLimitAdditively_whenLimitIsUsedAndLatencyIsStable() throws Exception {
+        int previousLimit = limiter.getLimit();
+        for (int i = 0; i < 10; i++) {
+            sendAtLimit(FAST);
+            assertThat(limiter.getLimit()).isBetween(previousLimit, previousLimit + 1);
+            previousLimit = limiter.getLimit();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(meterRegistry.get(AdaptiveConcurrencyLimiter.LIMIT_METRIC).gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void onSuccess_shouldNotIncreaseLimit_whenLimitIsNotUsed() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void onSuccess_shouldDecreaseLimitMultiplicatively_whenLatencyExceedsTolerance() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            sendAtLimit(FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        limiter.onSuccess(SLOW);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void onDropped_shouldNotDecreaseLimitBelowMinimum() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            limiter.onDropped();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(limiter.tryAcquire(Duration.ofMillis(10).toNanos())).isFalse();
+    }
+
+    /**
+     * Fills all slots, then completes the sends with the given latency.
+     */
+    private void sendAtLimit(long latencyNanos) throws InterruptedException {
+        int slots = 0;
+        while (limiter.tryAcquire(0)) {
+            slots++;
+        }
+        for (int i = 0; i < slots; i++) {
+            limiter.onSuccess(latencyNanos);
+        }
+    }
+
+    private static MailProperties mailProperties() {
+        MailProperties.Limiter limiter = new MailProperties.Limiter(2, 1, 2.0, 0.5, Duration.ofSeconds(1), 0, 10);
+        MailProperties.Outbox outbox = new MailProperties.Outbox(100, 5, 100, 5, Duration.ofSeconds(30), Duration.ofHours(1),
+                                                                 Duration.ofMinutes(5), limiter);
+        return new MailProperties("from@example.com", outbox);
+    }
+}
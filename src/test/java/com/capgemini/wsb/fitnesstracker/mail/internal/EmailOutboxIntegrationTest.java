@@ -0,0 +1,119 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.mail.internet.MimeMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "mail.outbox.poll-interval=PT0.05S",
+        "mail.outbox.max-attempts=2",
+        "mail.outbox.initial-backoff=10ms"
+})
+class EmailOutboxIntegrationTest extends IntegrationTestBase {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailSender emailSender;
+
+    @Autowired
+    private EmailOutbox outbox;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @AfterEach
+    void cleanUpOutbox() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void shouldDeliverAndRemoveQueuedEmails_whenDispatching() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            emailSender.send(new EmailDto("user" + i + "@domain.com", "Subject " + i, "Content " + i));
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> greenMail.getReceivedMessages().length == 3);
+        await().atMost(Duration.ofSeconds(10)).until(() -> outboxRepository.count() == 0);
+
+        MimeMessage message = greenMail.getReceivedMessagesForDomain("user1@domain.com")[0];
+        assertThat(message.getSubject()).isEqualTo("Subject 1");
+        assertThat(message.getFrom()[0].toString()).isEqualTo("FitnessTrackerWSB@ftwsb.com");
+    }
+
+    @Test
+    void shouldDeadLetterEmail_whenAllAttemptsFail() {
+        emailSender.send(new EmailDto("not an address", "Subject", "Content"));
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> outboxRepository.countByStatus(EmailOutboxEntry.Status.DEAD) == 1);
+
+        List<EmailOutboxEntry> entries = outboxRepository.findAll();
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getAttempts()).isEqualTo(2);
+        assertThat(entries.get(0).getLastError()).isNotBlank();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectEmail_whenContentExceedsLimit() {
+        String content = "x".repeat(EmailOutboxEntry.MAX_CONTENT_LENGTH + 1);
+
+        assertThatThrownBy(() -> emailSender.send(new EmailDto("user@domain.com", "Subject", content)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.valueOf(EmailOutboxEntry.MAX_CONTENT_LENGTH));
+
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldQueueEmail_whenContentIsAtLimit() {
+        String content = "x".repeat(EmailOutboxEntry.MAX_CONTENT_LENGTH);
+
+        emailSender.send(new EmailDto("user@domain.com", "Subject", content));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> greenMail.getReceivedMessages().length == 1);
+    }
+
+    @Test
+    void shouldKeepEmail_whenCompletingUnderLeaseClaimedAgain() {
+        Instant leaseUntil = Instant.now().plus(Duration.ofHours(1));
+        UUID currentToken = UUID.randomUUID();
+        EmailOutboxEntry entry = new EmailOutboxEntry(new EmailDto("user@domain.com", "Subject", "Content"), Instant.now());
+        entry.lease(leaseUntil, currentToken);
+        EmailOutboxEntry saved = outboxRepository.save(entry);
+
+        EmailOutbox.Claim expired = new EmailOutbox.Claim(UUID.randomUUID(), leaseUntil, List.of(saved));
+        outbox.complete(expired, List.of(saved.getId()), Map.of(), List.of());
+
+        assertThat(outboxRepository.findById(saved.getId())).isPresent();
+
+        EmailOutbox.Claim current = new EmailOutbox.Claim(currentToken, leaseUntil, List.of(saved));
+        outbox.complete(current, List.of(saved.getId()), Map.of(), List.of());
+
+        assertThat(outboxRepository.findById(saved.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,87 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.FitnessTracker;
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the monthly report on several instances sharing one H2 file database.
+ */
+@IntegrationTest
+class EmailTrainingReportClusterTest {
+
+    private static final int NODES = 3;
+    private static final int USERS = 100;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startNodes() {
+        String url = "jdbc:h2:file:./target/cluster-" + UUID.randomUUID() + "/db;LOCK_TIMEOUT=10000";
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(FitnessTracker.class)
+                              .web(WebApplicationType.NONE)
+                              .run("--spring.datasource.url=" + url,
+                                   "--spring.jpa.hibernate.ddl-auto=update",
+                                   // the default JCache manager is shared within the JVM and closed with the first node
+                                   "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                                   "--mail.outbox.poll-interval=PT24H",
+                                   "--scheduling.partitions=8",
+                                   "--scheduling.node-id=node-" + i));
+        }
+        UserService userService = nodes.get(0).getBean(UserService.class);
+        for (int i = 0; i < USERS; i++) {
+            userService.createUser(new User("John" + i, "Doe", LocalDate.of(1990, 1, 1), "john" + i + "@example.com"));
+        }
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void generateSummaryOfMonthlyTraining_shouldQueueOneEmailPerUser_whenRunOnAllNodes() {
+        runOnAllNodes();
+
+        JdbcTemplate jdbcTemplate = nodes.get(0).getBean(JdbcTemplate.class);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from email_outbox", Long.class)).isEqualTo(USERS);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct to_address) from email_outbox", Long.class)).isEqualTo(USERS);
+        assertThat(jdbcTemplate.queryForList("select distinct status from job_partition", String.class)).containsExactly("DONE");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from job_partition", Long.class)).isEqualTo(8);
+    }
+
+    @Test
+    void generateSummaryOfMonthlyTraining_shouldNotQueueAgain_whenRunIsFinished() {
+        runOnAllNodes();
+        runOnAllNodes();
+
+        JdbcTemplate jdbcTemplate = nodes.get(0).getBean(JdbcTemplate.class);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from email_outbox", Long.class)).isEqualTo(USERS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from job_partition", Long.class)).isEqualTo(8);
+    }
+
+    private void runOnAllNodes() {
+        CompletableFuture.allOf(nodes.stream()
+                                        .map(node -> CompletableFuture.runAsync(
+                                                () -> node.getBean(EmailTrainingReport.class).generateSummaryOfMonthlyTraining()))
+                                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+}
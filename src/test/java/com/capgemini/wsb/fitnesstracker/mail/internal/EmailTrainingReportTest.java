@@ -0,0 +1,171 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.rollup.api.BucketGranularity;
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollupProvider;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionChunk;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionHandler;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionedJobExecutor;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EmailTrainingReportTest {
+
+    @Mock
+    private UserProvider userProvider;
+
+    @Mock
+    private TrainingRollupProvider trainingRollupProvider;
+
+    @Mock
+    private EmailSender emailSender;
+
+    @Mock
+    private PartitionedJobExecutor partitionedJobExecutor;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmailTrainingReport emailTrainingReport;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        emailTrainingReport = new EmailTrainingReport(userProvider, trainingRollupProvider, emailSender,
+                                                      partitionedJobExecutor, meterRegistry);
+        when(partitionedJobExecutor.run(eq(EmailTrainingReport.JOB_NAME), any(), any(), any())).thenAnswer(invocation -> {
+            LongSupplier highestId = invocation.getArgument(2);
+            PartitionHandler handler = invocation.getArgument(3);
+            processPartition(handler, invocation.getArgument(1), 1, highestId.getAsLong());
+            return 1;
+        });
+    }
+
+    @Test
+    void generateSummaryOfMonthlyTraining_shouldUseMonthlyRollupsForAllUsers() {
+        when(trainingRollupProvider.countTrainingsPerUser(eq(BucketGranularity.MONTH), any())).thenReturn(Map.of(1L, 1L, 2L, 3L));
+        when(userProvider.findHighestUserId()).thenReturn(Optional.of(3L));
+        when(userProvider.findUsersPage(eq(0L), eq(EmailTrainingReport.USER_CHUNK_SIZE)))
+                .thenReturn(List.of(user(1L), user(2L), user(3L)));
+
+        emailTrainingReport.generateSummaryOfMonthlyTraining();
+
+        ArgumentCaptor<EmailDto> emails = ArgumentCaptor.forClass(EmailDto.class);
+        verify(emailSender, times(3)).send(emails.capture());
+        assertEquals("Congratulations John1 Doe you have finished 1 training last month!", emails.getAllValues().get(0).content());
+        assertEquals("Congratulations John2 Doe you have finished 3 trainings last month!", emails.getAllValues().get(1).content());
+        assertEquals("Congratulations John3 Doe you have finished 0 trainings last month!", emails.getAllValues().get(2).content());
+        verify(trainingRollupProvider, times(1)).countTrainingsPerUser(BucketGranularity.MONTH,
+                                                                       LocalDate.now(ZoneOffset.UTC).minusMonths(1).withDayOfMonth(1));
+        verify(userProvider, never()).findAllUsers();
+        verify(partitionedJobExecutor).run(eq(EmailTrainingReport.JOB_NAME),
+                                           eq(YearMonth.now(ZoneOffset.UTC).minusMonths(1).toString()), any(), any());
+
+        assertEquals(3, meterRegistry.counter(EmailTrainingReport.USERS_METRIC).count());
+        assertEquals(4, meterRegistry.counter(EmailTrainingReport.TRAININGS_METRIC).count());
+        assertEquals(1, meterRegistry.timer(EmailTrainingReport.DURATION_METRIC).count());
+    }
+
+    @Test
+    void generateSummaryOfMonthlyTraining_shouldReadUsersInChunks() {
+        List<User> firstChunk = LongStream.rangeClosed(1, EmailTrainingReport.USER_CHUNK_SIZE).mapToObj(this::user).toList();
+        long lastId = EmailTrainingReport.USER_CHUNK_SIZE;
+        when(trainingRollupProvider.countTrainingsPerUser(eq(BucketGranularity.MONTH), any())).thenReturn(Map.of());
+        when(userProvider.findHighestUserId()).thenReturn(Optional.of(lastId + 1));
+        when(userProvider.findUsersPage(eq(0L), eq(EmailTrainingReport.USER_CHUNK_SIZE))).thenReturn(firstChunk);
+        when(userProvider.findUsersPage(eq(lastId), eq(EmailTrainingReport.USER_CHUNK_SIZE))).thenReturn(List.of(user(lastId + 1)));
+
+        emailTrainingReport.generateSummaryOfMonthlyTraining();
+
+        verify(userProvider).findHighestUserId();
+        verify(userProvider).findUsersPage(eq(0L), eq(EmailTrainingReport.USER_CHUNK_SIZE));
+        verify(userProvider).findUsersPage(eq(lastId), eq(EmailTrainingReport.USER_CHUNK_SIZE));
+        verifyNoMoreInteractions(userProvider);
+        verify(emailSender, times(EmailTrainingReport.USER_CHUNK_SIZE + 1)).send(any());
+        assertEquals(EmailTrainingReport.USER_CHUNK_SIZE + 1, meterRegistry.counter(EmailTrainingReport.USERS_METRIC).count());
+    }
+
+    @Test
+    void generateSummaryOfMonthlyTraining_shouldSkipUsersBeyondPartition() {
+        when(trainingRollupProvider.countTrainingsPerUser(eq(BucketGranularity.MONTH), any())).thenReturn(Map.of());
+        when(userProvider.findHighestUserId()).thenReturn(Optional.of(2L));
+        when(userProvider.findUsersPage(eq(0L), eq(EmailTrainingReport.USER_CHUNK_SIZE)))
+                .thenReturn(List.of(user(1L), user(2L), user(3L)));
+
+        emailTrainingReport.generateSummaryOfMonthlyTraining();
+
+        verify(emailSender, times(2)).send(any());
+    }
+
+    @Test
+    void resumeSummaryOfMonthlyTraining_shouldUseTrainingCountsOfResumedMonth() {
+        when(partitionedJobExecutor.resume(eq(EmailTrainingReport.JOB_NAME), any())).thenAnswer(invocation -> {
+            PartitionHandler handler = invocation.getArgument(1);
+            processPartition(handler, "2024-02", 1, 1);
+            processPartition(handler, "2024-02", 2, 2);
+            return 2;
+        });
+        when(trainingRollupProvider.countTrainingsPerUser(eq(BucketGranularity.MONTH), any())).thenReturn(Map.of(2L, 2L));
+        when(userProvider.findUsersPage(eq(0L), eq(EmailTrainingReport.USER_CHUNK_SIZE))).thenReturn(List.of(user(1L), user(2L)));
+        when(userProvider.findUsersPage(eq(1L), eq(EmailTrainingReport.USER_CHUNK_SIZE))).thenReturn(List.of(user(2L)));
+
+        emailTrainingReport.resumeSummaryOfMonthlyTraining();
+
+        verify(trainingRollupProvider, times(1)).countTrainingsPerUser(BucketGranularity.MONTH, LocalDate.of(2024, 2, 1));
+        ArgumentCaptor<EmailDto> emails = ArgumentCaptor.forClass(EmailDto.class);
+        verify(emailSender, times(2)).send(emails.capture());
+        assertEquals("Congratulations John2 Doe you have finished 2 trainings last month!", emails.getAllValues().get(1).content());
+    }
+
+    @Test
+    void generateSummaryOfMonthlyTraining_shouldReportChunkProgress() {
+        when(trainingRollupProvider.countTrainingsPerUser(eq(BucketGranularity.MONTH), any())).thenReturn(Map.of());
+        List<User> fullChunk = LongStream.rangeClosed(11, 10 + EmailTrainingReport.USER_CHUNK_SIZE).mapToObj(this::user).toList();
+        when(userProvider.findUsersPage(eq(10L), eq(EmailTrainingReport.USER_CHUNK_SIZE))).thenReturn(fullChunk);
+        when(partitionedJobExecutor.resume(eq(EmailTrainingReport.JOB_NAME), any())).thenAnswer(invocation -> {
+            PartitionHandler handler = invocation.getArgument(1);
+            assertEquals(new PartitionChunk(10 + EmailTrainingReport.USER_CHUNK_SIZE, EmailTrainingReport.USER_CHUNK_SIZE),
+                         handler.processChunk("2024-02", 10, 10_000));
+            assertEquals(new PartitionChunk(20, 10), handler.processChunk("2024-02", 10, 20));
+            return 0;
+        });
+
+        emailTrainingReport.resumeSummaryOfMonthlyTraining();
+
+        verify(emailSender, times(EmailTrainingReport.USER_CHUNK_SIZE + 10)).send(any());
+    }
+
+    private static void processPartition(PartitionHandler handler, String runKey, long fromId, long toId) {
+        long checkpoint = fromId - 1;
+        while (checkpoint < toId) {
+            checkpoint = handler.processChunk(runKey, checkpoint, toId).lastId();
+        }
+    }
+
+    private User user(long id) {
+        User user = new User("John" + id, "Doe", LocalDate.of(1990, 1, 1), "john" + id + "@example.com");
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,124 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmtpConnectionPoolTest {
+
+    private static final int MESSAGES_PER_CONNECTION = 3;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SmtpConnectionPool connectionPool;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        MailProperties.Outbox outbox = new MailProperties.Outbox(100, 1, MESSAGES_PER_CONNECTION, 5,
+                                                                 Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofMinutes(5),
+                                                                 new MailProperties.Limiter(1, 1, 2.0, 0.9, Duration.ofSeconds(30), 0, 10));
+        connectionPool = new SmtpConnectionPool(mailSender, new MailProperties("test@ftwsb.com", outbox));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionPool.destroy();
+    }
+
+    @Test
+    void shouldRecycleConnection_whenMessagesPerConnectionWereSent() throws Exception {
+        SmtpConnectionPool.SmtpConnection connection = connectionPool.borrow();
+        try {
+            for (int i = 0; i < 2 * MESSAGES_PER_CONNECTION + 1; i++) {
+                connection.send(message("user" + i + "@domain.com"));
+            }
+        } finally {
+            connectionPool.release(connection);
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2 * MESSAGES_PER_CONNECTION + 1);
+        assertThat(connectionPool.getOpenedConnections()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReplaceConnection_whenServerDroppedIt() throws Exception {
+        send(message("user1@domain.com"));
+
+        greenMail.reset();
+        send(message("user2@domain.com"));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(greenMail.getReceivedMessagesForDomain("user2@domain.com")).hasSize(1);
+        assertThat(connectionPool.getOpenedConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReplaceConnection_whenItWasClosed() throws Exception {
+        SmtpConnectionPool.SmtpConnection connection = connectionPool.borrow();
+        try {
+            connection.send(message("user1@domain.com"));
+            connection.close();
+        } finally {
+            connectionPool.release(connection);
+        }
+
+        send(message("user2@domain.com"));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(connectionPool.getOpenedConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepConnection_whenRecipientWasRejected() throws Exception {
+        MimeMessage rejected = message("user1@domain.com");
+        // a valid address the server refuses with "501 Required syntax"
+        rejected.setRecipients(Message.RecipientType.TO, "\"user1>\"@domain.com");
+
+        SmtpConnectionPool.SmtpConnection connection = connectionPool.borrow();
+        try {
+            assertThatThrownBy(() -> connection.send(rejected)).isInstanceOf(SendFailedException.class);
+            connection.send(message("user2@domain.com"));
+        } finally {
+            connectionPool.release(connection);
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(connectionPool.getOpenedConnections()).isEqualTo(1);
+    }
+
+    private void send(MimeMessage message) throws Exception {
+        SmtpConnectionPool.SmtpConnection connection = connectionPool.borrow();
+        try {
+            connection.send(message);
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    private MimeMessage message(String toAddress) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("test@ftwsb.com");
+        message.setTo(toAddress);
+        message.setSubject("Subject");
+        message.setText("Content");
+        return connectionPool.createMessage(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenRefillAtRate() throws Exception {
+        TokenBucket bucket = new TokenBucket(10, 2, nanoTime::get);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+    }
+
+    @Test
+    void tryAcquire_shouldNotStoreMoreThanBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(10, 2, nanoTime::get);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+    }
+
+    @Test
+    void tryAcquire_shouldReserveToken_whenWaitFitsTimeout() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 1, nanoTime::get);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(5))).isTrue();
+        assertThat(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(1))).isFalse();
+    }
+
+    @Test
+    void tryAcquire_shouldNotLimit_whenRateIsZero() throws Exception {
+        TokenBucket bucket = new TokenBucket(0, 1, nanoTime::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(bucket.tryAcquire(0)).isTrue();
+        }
+    }
+}
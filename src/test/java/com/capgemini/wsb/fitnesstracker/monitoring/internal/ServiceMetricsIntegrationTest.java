@@ -0,0 +1,62 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram[spring.data.repository.invocations]=true"
+})
+class ServiceMetricsIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceCalls_shouldBeTimedByMethodAndOutcome() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 7, 25), "emma.johnson@domain.com"));
+
+        mockMvc.perform(get("/v1/users/{id}", user.getId())).andExpect(status().isOk());
+        mockMvc.perform(delete("/v1/users/{userId}", user.getId() + 1)).andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.METRIC)
+                           .tags("class", "UserServiceImpl", "method", "getUser", "outcome", "SUCCESS")
+                           .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.METRIC)
+                           .tags("class", "UserServiceImpl", "method", "deleteUser", "outcome", "ERROR",
+                                 "exception", "UserNotFoundException")
+                           .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void prometheusEndpoint_shouldExposeServiceAndRepositoryHistograms() throws Exception {
+        mockMvc.perform(get("/v1/users/simple")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "fitnesstracker_service_invocations_seconds_bucket{class=\"UserServiceImpl\",exception=\"none\",method=\"findAllUsers\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")));
+    }
+}
@@ -0,0 +1,66 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCounterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementCounter counter = new SqlStatementCounter(new SqlMonitoringProperties(true, false, 2), meterRegistry);
+
+    @AfterEach
+    void endUnit() {
+        SqlStatementCounter.Unit unit = counter.current();
+        if (unit != null) {
+            counter.end(unit, "test", "cleanup");
+        }
+    }
+
+    @Test
+    void shapeOf_shouldReplaceLiteralsAndParameterLists() {
+        assertThat(SqlStatementCounter.shapeOf("select u.id from users u\n where u.email = 'a''b'  and u.id in (?, ?,?) and u.age > 18"))
+                .isEqualTo("select u.id from users u where u.email = ? and u.id in (?) and u.age > ?");
+        assertThat(SqlStatementCounter.shapeOf("select u1_0.id from users u1_0 where u1_0.id=?"))
+                .isEqualTo("select u1_0.id from users u1_0 where u1_0.id=?");
+    }
+
+    @Test
+    void end_shouldPublishTotalsAndCountRepeatedStatements() {
+        SqlStatementCounter.Unit unit = counter.begin();
+        assertThat(counter.begin()).isNull();
+        for (int id = 1; id <= 3; id++) {
+            execute("select * from users where id = " + id);
+        }
+        execute("select * from trainings");
+
+        assertThat(unit.getStatements()).isEqualTo(4);
+        counter.end(unit, "job", "TestJob.run");
+
+        assertThat(counter.current()).isNull();
+        assertThat(meterRegistry.get(SqlStatementCounter.STATEMENTS_METRIC).tags("kind", "job", "name", "TestJob.run")
+                           .summary().totalAmount()).isEqualTo(4);
+        assertThat(meterRegistry.get(SqlStatementCounter.REPEATED_METRIC).tags("kind", "job", "name", "TestJob.run")
+                           .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void afterQuery_shouldIgnoreStatementsOutsideOfUnit() {
+        execute("select * from users");
+
+        assertThat(counter.current()).isNull();
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private void execute(String sql) {
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        counter.beforeQuery(new ExecutionInfo(), queries);
+        counter.afterQuery(new ExecutionInfo(), queries);
+    }
+}
@@ -0,0 +1,57 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "monitoring.sql.response-headers=true",
+        "mail.outbox.poll-interval=PT24H"
+})
+class SqlStatementFilterIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void request_shouldReportStatementsAndRowsInHeadersAndMetrics() throws Exception {
+        existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 7, 25), "emma.johnson@domain.com"));
+        existingUser(new User("Ethan", "Taylor", LocalDate.of(1996, 7, 25), "ethan.taylor@domain.com"));
+
+        mockMvc.perform(get("/v1/users/simple"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.STATEMENTS_HEADER, "1"))
+                .andExpect(header().string(SqlStatementFilter.ROWS_HEADER, "2"))
+                .andExpect(header().exists(SqlStatementFilter.TIME_HEADER));
+
+        assertThat(meterRegistry.get(SqlStatementCounter.ROWS_METRIC)
+                           .tags("kind", "http", "name", "GET /v1/users/simple")
+                           .summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void bodilessResponse_shouldCarryHeaders() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 7, 25), "emma.johnson@domain.com"));
+
+        mockMvc.perform(delete("/v1/users/{userId}", user.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists(SqlStatementFilter.STATEMENTS_HEADER));
+    }
+}
@@ -0,0 +1,43 @@
+package com.capgemini.wsb.fitnesstracker.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncSenderTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(AsyncSender.class);
+
+    @Test
+    void shouldUsePlatformThreadPool_byDefault() {
+        contextRunner.withPropertyValues("notification.sender.core-pool-size=3", "notification.sender.max-pool-size=7")
+                .run(context -> {
+                    ThreadPoolTaskExecutor executor = context.getBean(AsyncSender.SENDER_EXECUTOR, ThreadPoolTaskExecutor.class);
+                    assertThat(executor.getCorePoolSize()).isEqualTo(3);
+                    assertThat(executor.getMaxPoolSize()).isEqualTo(7);
+                });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldUseVirtualThreadsWithConcurrencyLimit_whenVirtualThreadsEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true", "notification.sender.virtual-concurrency-limit=20")
+                .run(context -> {
+                    SimpleAsyncTaskExecutor executor = context.getBean(AsyncSender.SENDER_EXECUTOR, SimpleAsyncTaskExecutor.class);
+                    assertThat(executor.getConcurrencyLimit()).isEqualTo(20);
+                });
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldFallBackToPlatformThreadPool_whenVirtualThreadsAreNotSupported() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context.getBean(AsyncSender.SENDER_EXECUTOR)).isInstanceOf(ThreadPoolTaskExecutor.class));
+    }
+}
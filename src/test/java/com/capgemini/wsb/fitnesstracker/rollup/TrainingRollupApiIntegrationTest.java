@@ -0,0 +1,193 @@
+package com.capgemini.wsb.fitnesstracker.rollup;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingRollupApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldAggregateTrainingsPerBucket_whenCreatingTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+        createTraining(user1, "RUNNING", "2024-01-19T08:00:00", "2024-01-19T09:00:00", 10.0, 10.0);
+        createTraining(user1, "RUNNING", "2024-01-21T08:00:00", "2024-01-21T08:30:00", 6.0, 12.0);
+        createTraining(user1, "RUNNING", "2024-02-01T08:00:00", "2024-02-01T09:00:00", 8.0, 8.0);
+
+        mockMvc.perform(get("/v1/trainings/rollups")
+                                .param("userId", user1.getId().toString())
+                                .param("from", "2024-01-01")
+                                .param("to", "2024-12-31")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].bucketStart").value("2024-01-01"))
+                .andExpect(jsonPath("$[0].activityType").value("RUNNING"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].totalDistance").value(16.0))
+                .andExpect(jsonPath("$[0].totalDuration").value(90 * 60 * 1000))
+                .andExpect(jsonPath("$[0].maxSpeed").value(12.0))
+                .andExpect(jsonPath("$[1].bucketStart").value("2024-02-01"))
+                .andExpect(jsonPath("$[1].count").value(1));
+
+        mockMvc.perform(get("/v1/trainings/rollups")
+                                .param("userId", user1.getId().toString())
+                                .param("granularity", "WEEK")
+                                .param("from", "2024-01-15")
+                                .param("to", "2024-01-21")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].bucketStart").value("2024-01-15"))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
+    @Test
+    void shouldMoveTrainingBetweenBuckets_whenUpdatingTraining() throws Exception {
+        User user1 = existingUser(generateClient());
+        Long trainingId = createTraining(user1, "RUNNING", "2024-01-19T08:00:00", "2024-01-19T09:00:00", 10.0, 15.0);
+        createTraining(user1, "RUNNING", "2024-01-20T08:00:00", "2024-01-20T09:00:00", 5.0, 5.0);
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "2024-01-19T08:00:00", "endTime": "2024-01-19T10:00:00", "activityType": "CYCLING", "distance": 40.0, "averageSpeed": 20.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/trainings/rollups")
+                                .param("userId", user1.getId().toString())
+                                .param("granularity", "DAY")
+                                .param("from", "2024-01-19")
+                                .param("to", "2024-01-20")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].activityType").value("CYCLING"))
+                .andExpect(jsonPath("$[0].maxSpeed").value(20.0))
+                .andExpect(jsonPath("$[1].activityType").value("RUNNING"))
+                .andExpect(jsonPath("$[1].count").value(1));
+
+        mockMvc.perform(get("/v1/trainings/rollups")
+                                .param("userId", user1.getId().toString())
+                                .param("from", "2024-01-01")
+                                .param("to", "2024-01-01")
+                                .param("activityType", "RUNNING")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[0].totalDistance").value(5.0))
+                .andExpect(jsonPath("$[0].maxSpeed").value(5.0));
+    }
+
+    @Test
+    void shouldRecomputeRollups_whenRebuilding() throws Exception {
+        User user1 = existingUser(generateClient());
+        persistTraining(new Training(user1,
+                                     Date.from(Instant.parse("2024-03-10T08:00:00Z")),
+                                     Date.from(Instant.parse("2024-03-10T09:00:00Z")),
+                                     ActivityType.SWIMMING, 2.0, 2.0));
+
+        mockMvc.perform(post("/v1/trainings/rollups/rebuild"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/trainings/rollups")
+                                .param("userId", user1.getId().toString())
+                                .param("from", "2024-03-01")
+                                .param("to", "2024-03-01")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].activityType").value("SWIMMING"))
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[0].totalDuration").value(60 * 60 * 1000));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldCountEveryTraining_whenFirstTrainingsOfBucketAreCreatedConcurrently() throws Exception {
+        User user1 = existingUser(generateClient());
+        int trainings = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(trainings);
+        try {
+            List<Future<Long>> created = new ArrayList<>();
+            for (int i = 0; i < trainings; i++) {
+                double averageSpeed = 10.0 + i;
+                created.add(executor.submit(() -> {
+                    start.await();
+                    return createTraining(user1, "RUNNING", "2024-01-19T08:00:00", "2024-01-19T09:00:00", 10.0, averageSpeed);
+                }));
+            }
+            start.countDown();
+            for (Future<Long> training : created) {
+                training.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        mockMvc.perform(get("/v1/trainings/rollups")
+                                .param("userId", user1.getId().toString())
+                                .param("granularity", "DAY")
+                                .param("from", "2024-01-19")
+                                .param("to", "2024-01-19")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].count").value(trainings))
+                .andExpect(jsonPath("$[0].totalDistance").value(10.0 * trainings))
+                .andExpect(jsonPath("$[0].maxSpeed").value(10.0 + trainings - 1));
+    }
+
+    private Long createTraining(User user, String activityType, String startTime, String endTime, double distance,
+                                double averageSpeed) throws Exception {
+        String response = mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "%s", "endTime": "%s", "activityType": "%s", "distance": %s, "averageSpeed": %s}
+                        """.formatted(user.getId(), startTime, endTime, activityType, distance, averageSpeed)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+}
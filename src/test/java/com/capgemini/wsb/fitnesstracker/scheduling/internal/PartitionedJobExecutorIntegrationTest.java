@@ -0,0 +1,107 @@
+package com.capgemini.wsb.fitnesstracker.scheduling.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionChunk;
+import com.capgemini.wsb.fitnesstracker.scheduling.api.PartitionedJobExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "scheduling.partitions=2",
+        "scheduling.lease=PT1S",
+        "management.endpoints.web.exposure.include=jobs"
+})
+class PartitionedJobExecutorIntegrationTest extends IntegrationTestBase {
+
+    private static final String JOB_NAME = "test-job";
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private PartitionedJobExecutor partitionedJobExecutor;
+
+    @Autowired
+    private JobPartitionRepository partitionRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<Long> processedIds = new ArrayList<>();
+    private final AtomicBoolean failAfterSeven = new AtomicBoolean(true);
+
+    @AfterEach
+    void cleanUpPartitions() {
+        partitionRepository.deleteAll();
+        leaseRepository.deleteAll();
+    }
+
+    @Test
+    void shouldResumePartitionFromCheckpoint_whenChunkFailed() throws Exception {
+        int partitions = partitionedJobExecutor.run(JOB_NAME, "run-1", () -> 10, this::processChunk);
+
+        assertThat(partitions).isEqualTo(1);
+        assertThat(processedIds).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        mockMvc.perform(get("/actuator/jobs/{jobName}", JOB_NAME))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].runKey").value("run-1"))
+                .andExpect(jsonPath("$[0].status").value("RUNNING"))
+                .andExpect(jsonPath("$[0].partitions").value(2))
+                .andExpect(jsonPath("$[0].claimedPartitions").value(1))
+                .andExpect(jsonPath("$[0].donePartitions").value(1))
+                .andExpect(jsonPath("$[0].completion").value(0.7))
+                .andExpect(jsonPath("$[0].processed").value(7));
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> partitionedJobExecutor.resume(JOB_NAME, this::processChunk) == 1);
+
+        assertThat(processedIds).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, 10).boxed().toList());
+        mockMvc.perform(get("/actuator/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].jobName").value(JOB_NAME))
+                .andExpect(jsonPath("$[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$[0].completion").value(1.0))
+                .andExpect(jsonPath("$[0].processed").value(10));
+    }
+
+    @Test
+    void shouldNotProcessAgain_whenRunIsFinished() {
+        failAfterSeven.set(false);
+
+        assertThat(partitionedJobExecutor.run(JOB_NAME, "run-2", () -> 10, this::processChunk)).isEqualTo(2);
+        assertThat(partitionedJobExecutor.run(JOB_NAME, "run-2", () -> 20, this::processChunk)).isZero();
+
+        assertThat(processedIds).hasSize(10);
+        assertThat(partitionRepository.count()).isEqualTo(2);
+    }
+
+    /**
+     * Processes IDs in chunks of {@value #CHUNK_SIZE}, failing once on the chunk following ID 7.
+     */
+    private PartitionChunk processChunk(String runKey, long afterId, long toId) {
+        if (afterId == 7 && failAfterSeven.getAndSet(false)) {
+            throw new IllegalStateException("Chunk failed");
+        }
+        long lastId = Math.min(afterId + CHUNK_SIZE, toId);
+        LongStream.rangeClosed(afterId + 1, lastId).forEach(processedIds::add);
+        return new PartitionChunk(lastId, (int) (lastId - afterId));
+    }
+}
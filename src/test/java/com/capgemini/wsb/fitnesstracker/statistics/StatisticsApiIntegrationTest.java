@@ -0,0 +1,173 @@
+package com.capgemini.wsb.fitnesstracker.statistics;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+class StatisticsApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldAccumulateStatistics_whenCreatingTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+
+        createTraining(user1, "RUNNING", "2024-01-19T08:00:00", "2024-01-19T09:00:00", 10.0);
+        mockMvc.perform(post("/v1/trainings/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                        [
+                        {"userId": "%1$s", "startTime": "2024-01-20T08:00:00", "endTime": "2024-01-20T10:00:00", "activityType": "CYCLING", "distance": 40.0, "averageSpeed": 20.0},
+                        {"userId": "%1$s", "startTime": "2024-01-21T08:00:00", "endTime": "2024-01-21T08:30:00", "activityType": "WALKING", "distance": 2.5, "averageSpeed": 5.0}
+                        ]
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(user1.getId()))
+                .andExpect(jsonPath("$.totalTrainings").value(3))
+                .andExpect(jsonPath("$.totalDistance").value(52.5))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(688 + 1123 + 123));
+    }
+
+    @Test
+    void shouldReplacePreviousValues_whenUpdatingTraining() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        Long trainingId = createTraining(user1, "RUNNING", "2024-01-19T08:00:00", "2024-01-19T09:00:00", 10.0);
+        createTraining(user1, "WALKING", "2024-01-20T08:00:00", "2024-01-20T09:00:00", 5.0);
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "2024-01-19T08:00:00", "endTime": "2024-01-19T10:00:00", "activityType": "CYCLING", "distance": 40.0, "averageSpeed": 20.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(45.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(1123 + 583));
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "2024-01-19T08:00:00", "endTime": "2024-01-19T10:00:00", "activityType": "CYCLING", "distance": 40.0, "averageSpeed": 20.0}
+                        """.formatted(user2.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(5.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(583));
+        mockMvc.perform(get("/v1/statistics/{userId}", user2.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(40.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(1123));
+    }
+
+    @Test
+    void shouldRecomputeStatistics_whenRecalculating() throws Exception {
+        User user1 = existingUser(generateClient());
+        persistTraining(new Training(user1,
+                                     Date.from(Instant.parse("2024-01-19T08:00:00Z")),
+                                     Date.from(Instant.parse("2024-01-19T09:00:00Z")),
+                                     ActivityType.RUNNING, 10.0, 10.0));
+        createTraining(user1, "SWIMMING", "2024-01-20T08:00:00", "2024-01-20T09:00:00", 2.0);
+
+        mockMvc.perform(post("/v1/statistics/recalculate"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/statistics/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(12.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(688 + 688));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldCountEveryTraining_whenFirstTrainingsOfUserAreCreatedConcurrently() throws Exception {
+        User user1 = existingUser(generateClient());
+        ActivityType[] activityTypes = ActivityType.values();
+        int trainings = activityTypes.length;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(trainings);
+        try {
+            List<Future<Long>> created = new ArrayList<>();
+            for (ActivityType activityType : activityTypes) {
+                created.add(executor.submit(() -> {
+                    start.await();
+                    return createTraining(user1, activityType.name(), "2024-01-19T08:00:00", "2024-01-19T09:00:00", 10.0);
+                }));
+            }
+            start.countDown();
+            for (Future<Long> training : created) {
+                training.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        mockMvc.perform(get("/v1/statistics/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(trainings))
+                .andExpect(jsonPath("$.totalDistance").value(10.0 * trainings));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenUserHasNoTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+
+        mockMvc.perform(get("/v1/statistics/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+    }
+
+    private Long createTraining(User user, String activityType, String startTime, String endTime, double distance) throws Exception {
+        String response = mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": "%s", "startTime": "%s", "endTime": "%s", "activityType": "%s", "distance": %s, "averageSpeed": 10.0}
+                        """.formatted(user.getId(), startTime, endTime, activityType, distance)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+}
@@ -0,0 +1,81 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalorieEstimatorTest {
+
+    private static final Instant START = Instant.parse("2024-06-01T08:00:00Z");
+
+    @Test
+    void met_shouldGrowWithSpeed() {
+        assertEquals(6.0, CalorieEstimator.met(ActivityType.RUNNING, 5.0));
+        assertEquals(9.8, CalorieEstimator.met(ActivityType.RUNNING, 10.0));
+        assertEquals(14.5, CalorieEstimator.met(ActivityType.RUNNING, 16.5));
+        assertEquals(4.0, CalorieEstimator.met(ActivityType.CYCLING, 12.0));
+        assertEquals(3.5, CalorieEstimator.met(ActivityType.WALKING, 5.0));
+        assertEquals(7.3, CalorieEstimator.met(ActivityType.TENNIS, 0.0));
+    }
+
+    @Test
+    void estimate_shouldUseDistanceOverDuration_whenSpeedIsMissing() {
+        TrainingSnapshot withSpeed = training(ActivityType.RUNNING, 60, 12.0, 12.0, LocalDate.of(1994, 6, 1));
+        TrainingSnapshot withoutSpeed = training(ActivityType.RUNNING, 60, 12.0, 0.0, LocalDate.of(1994, 6, 1));
+
+        assertEquals(CalorieEstimator.estimate(withSpeed), CalorieEstimator.estimate(withoutSpeed));
+    }
+
+    @Test
+    void estimate_shouldDecreaseWithAge() {
+        int young = CalorieEstimator.estimate(training(ActivityType.CYCLING, 60, 20.0, 20.0, LocalDate.of(2004, 6, 1)));
+        int old = CalorieEstimator.estimate(training(ActivityType.CYCLING, 60, 20.0, 20.0, LocalDate.of(1954, 6, 1)));
+
+        assertEquals(Math.round(8.0 * 70 * (1684.5 - 5 * 20.0) / 1680), young, 1);
+        assertTrue(old < young);
+    }
+
+    @Test
+    void estimate_shouldReturnZero_whenDurationIsNotPositive() {
+        assertEquals(0, CalorieEstimator.estimate(training(ActivityType.SWIMMING, 0, 1.0, 2.0, LocalDate.of(1990, 1, 1))));
+    }
+
+    @Test
+    void estimateBatch_shouldMatchSingleEstimates() {
+        List<TrainingSnapshot> trainings = List.of(
+                training(ActivityType.RUNNING, 45, 9.0, 12.0, LocalDate.of(1980, 3, 4)),
+                training(ActivityType.WALKING, 90, 6.0, 0.0, LocalDate.of(1999, 12, 31)),
+                training(ActivityType.TENNIS, 120, 0.0, 0.0, LocalDate.of(1965, 7, 14)));
+        CalorieEstimator.Batch batch = new CalorieEstimator.Batch(2);
+
+        assertFalse(batch.add(trainings.get(0)));
+        assertTrue(batch.add(trainings.get(1)));
+        CalorieEstimator.estimate(batch);
+        assertEquals(CalorieEstimator.estimate(trainings.get(0)), batch.calories[0]);
+        assertEquals(CalorieEstimator.estimate(trainings.get(1)), batch.calories[1]);
+
+        batch.clear();
+        batch.add(trainings.get(2));
+        CalorieEstimator.estimate(batch);
+        assertEquals(1, batch.size);
+        assertEquals(CalorieEstimator.estimate(trainings.get(2)), batch.calories[0]);
+    }
+
+    private static TrainingSnapshot training(ActivityType activityType, long minutes, double distance, double averageSpeed,
+                                             LocalDate birthdate) {
+        return new TrainingSnapshot(1L, 1L, birthdate,
+                                    Date.from(START),
+                                    Date.from(START.plusMillis(TimeUnit.MINUTES.toMillis(minutes))),
+                                    activityType, distance, averageSpeed);
+    }
+}
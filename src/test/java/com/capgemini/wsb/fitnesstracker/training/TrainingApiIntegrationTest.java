@@ -5,6 +5,7 @@ import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -17,6 +18,7 @@ import java.text.SimpleDateFormat;
 
 import static java.time.LocalDate.now;
 import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -40,19 +42,43 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
         mockMvc.perform(get("/v1/trainings").contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].user.Id").value(user1.getId()))
-                .andExpect(jsonPath("$[0].user.firstName").value(user1.getFirstName()))
-                .andExpect(jsonPath("$[0].user.lastName").value(user1.getLastName()))
-                .andExpect(jsonPath("$[0].user.email").value(user1.getEmail()))
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].user.Id").value(user1.getId()))
+                .andExpect(jsonPath("$.content[0].user.firstName").value(user1.getFirstName()))
+                .andExpect(jsonPath("$.content[0].user.lastName").value(user1.getLastName()))
+                .andExpect(jsonPath("$.content[0].user.email").value(user1.getEmail()))
 
 
-                .andExpect(jsonPath("$[0].startTime").value(sdf.format(training1.getStartTime())))
-                .andExpect(jsonPath("$[0].endTime").value(sdf.format(training1.getEndTime())))
-                .andExpect(jsonPath("$[0].distance").value((training1.getDistance())))
-                .andExpect(jsonPath("$[0].averageSpeed").value(training1.getAverageSpeed()))
+                .andExpect(jsonPath("$.content[0].startTime").value(sdf.format(training1.getStartTime())))
+                .andExpect(jsonPath("$.content[0].endTime").value(sdf.format(training1.getEndTime())))
+                .andExpect(jsonPath("$.content[0].distance").value((training1.getDistance())))
+                .andExpect(jsonPath("$.content[0].averageSpeed").value(training1.getAverageSpeed()))
 
-                .andExpect(jsonPath("$[1]").doesNotExist());
+                .andExpect(jsonPath("$.content[1]").doesNotExist())
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnTrainingsOrderedByEndTime_whenFollowingCursor() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithDetails(user1, "2024-05-19 19:00:00", "2024-05-19 20:30:00", ActivityType.RUNNING, 14, 11.5));
+        Training training2 = persistTraining(generateTrainingWithDetails(user1, "2024-05-17 19:00:00", "2024-05-17 20:30:00", ActivityType.RUNNING, 14, 11.5));
+
+        String firstPage = mockMvc.perform(get("/v1/trainings").param("size", "1").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(training2.getId()))
+                .andExpect(jsonPath("$.content[1]").doesNotExist())
+                .andExpect(jsonPath("$.next").isString())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/v1/trainings").param("size", "1").param("cursor", JsonPath.<String>read(firstPage, "$.next")).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(training1.getId()))
+                .andExpect(jsonPath("$.content[1]").doesNotExist())
+                .andExpect(jsonPath("$.next").doesNotExist());
     }
 
     @Test
@@ -155,6 +181,61 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
 
     }
 
+    @Test
+    void shouldPersistValidTrainingsAndReportRejectedOnes_whenCreatingBatchOfTrainings() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = """
+                [
+                    {
+                        "userId": "%s",
+                        "startTime": "2024-04-01T10:00:00.000+00:00",
+                        "endTime": "2024-04-01T11:00:00.000+00:00",
+                        "activityType": "RUNNING",
+                        "distance": 10.52,
+                        "averageSpeed": 8.2
+                    },
+                    {
+                        "userId": "%s",
+                        "startTime": "2024-04-02T10:00:00.000+00:00",
+                        "endTime": "2024-04-02T11:00:00.000+00:00",
+                        "activityType": "CYCLING",
+                        "distance": 30.0,
+                        "averageSpeed": 20.0
+                    },
+                    {
+                        "startTime": "2024-04-03T10:00:00.000+00:00",
+                        "endTime": "2024-04-03T11:00:00.000+00:00",
+                        "activityType": "WALKING"
+                    },
+                    {
+                        "userId": "%s",
+                        "activityType": "TENNIS"
+                    }
+                ]
+                """.formatted(user1.getId(), user1.getId() + 1000, user1.getId());
+        mockMvc.perform(post("/v1/trainings/batch").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].trainingId").isNumber())
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].trainingId").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("User with ID=%s was not found".formatted(user1.getId() + 1000)))
+                .andExpect(jsonPath("$[2].error").value("userId is required"))
+                .andExpect(jsonPath("$[3].error").value("startTime, endTime and activityType are required"))
+                .andExpect(jsonPath("$[4]").doesNotExist());
+
+        assertThat(getAllTrainings()).hasSize(1)
+                .first()
+                .satisfies(training -> {
+                    assertThat(training.getUser().getId()).isEqualTo(user1.getId());
+                    assertThat(training.getActivityType()).isEqualTo(ActivityType.RUNNING);
+                });
+    }
+
     @Test
     void shouldUpdateTraining_whenUpdatingTraining() throws Exception {
 
@@ -0,0 +1,73 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional} on purpose: the export streams from a separate thread and its own transaction,
+ * so the test data has to be committed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingExportIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldStreamAllTrainingsAsNdjson_whenExportingTrainings() throws Exception {
+
+        User user1 = existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString()));
+        Training training1 = persistTraining(generateTraining(user1, ActivityType.RUNNING));
+        Training training2 = persistTraining(generateTraining(user1, ActivityType.CYCLING));
+
+        MvcResult result = mockMvc.perform(get("/v1/trainings/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(JsonPath.<Integer>read(lines[0], "$.id").longValue()).isEqualTo(training1.getId());
+        assertThat(JsonPath.<String>read(lines[0], "$.activityType")).isEqualTo(ActivityType.RUNNING.name());
+        assertThat(JsonPath.<String>read(lines[0], "$.user.email")).isEqualTo(user1.getEmail());
+        assertThat(JsonPath.<Integer>read(lines[1], "$.id").longValue()).isEqualTo(training2.getId());
+        assertThat(JsonPath.<String>read(lines[1], "$.activityType")).isEqualTo(ActivityType.CYCLING.name());
+    }
+
+    private static Training generateTraining(User user, ActivityType activityType) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+        return new Training(
+                user,
+                sdf.parse("2024-01-19 08:00:00"),
+                sdf.parse("2024-01-19 09:30:00"),
+                activityType,
+                10.5,
+                8.2);
+    }
+}
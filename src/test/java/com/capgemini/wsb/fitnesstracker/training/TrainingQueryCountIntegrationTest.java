@@ -0,0 +1,96 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the training list endpoints load the trainings together with their users in a single statement.
+ * Not {@code @Transactional} on purpose: users persisted in the test transaction would already sit in the
+ * persistence context and hide additional selects.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mail.outbox.poll-interval=PT24H" // keeps the outbox dispatcher from issuing statements while counting
+})
+class TrainingQueryCountIntegrationTest extends IntegrationTestBase {
+
+    private static final int USERS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User firstUser;
+
+    @BeforeEach
+    void persistTrainingsOfSeveralUsers() {
+        for (int i = 0; i < USERS; i++) {
+            User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString()));
+            persistTraining(new Training(user, new Date(1_000), new Date(2_000 + i), ActivityType.RUNNING, 5.0, 10.0));
+            persistTraining(new Training(user, new Date(3_000), new Date(4_000 + i), ActivityType.RUNNING, 5.0, 10.0));
+            if (firstUser == null) {
+                firstUser = user;
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInSingleStatement_whenGettingAllTrainings() throws Exception {
+        assertSingleStatement(get("/v1/trainings"), USERS * 2);
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInSingleStatement_whenGettingTrainingsOfUser() throws Exception {
+        assertSingleStatement(get("/v1/trainings/{userId}", firstUser.getId()), 2);
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInSingleStatement_whenGettingTrainingsEndedAfter() throws Exception {
+        assertSingleStatement(get("/v1/trainings/finished/{afterTime}", "1970-01-01"), USERS * 2);
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInSingleStatement_whenGettingTrainingsByActivityType() throws Exception {
+        assertSingleStatement(get("/v1/trainings/activityType").param("activityType", "RUNNING"), USERS * 2);
+    }
+
+    private void assertSingleStatement(MockHttpServletRequestBuilder request, int expectedTrainings) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$..user.email", hasSize(expectedTrainings)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the second-level and query cache configuration of the main {@code application.yml},
+ * which the test configuration does not load.
+ */
+@IntegrationTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+        "mail.outbox.poll-interval=PT24H"
+})
+class TrainingSecondLevelCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void shouldServeRepeatedActivityTypeQueryFromCache_whenTrainingsAreUnchanged() {
+        User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString()));
+        persistTraining(new Training(user, new Date(1_000), new Date(2_000), ActivityType.SWIMMING, 1.0, 2.0));
+
+        assertThat(trainingProvider.findTrainingsByActivityType(ActivityType.SWIMMING)).hasSize(1);
+        statistics.clear();
+
+        assertThat(trainingProvider.findTrainingsByActivityType(ActivityType.SWIMMING)).hasSize(1);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getCacheRegionStatistics(Training.ACTIVITY_TYPE_QUERY_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateCachedQuery_whenTrainingIsWritten() {
+        User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString()));
+        persistTraining(new Training(user, new Date(1_000), new Date(2_000), ActivityType.TENNIS, 1.0, 2.0));
+        assertThat(trainingProvider.findTrainingsByActivityType(ActivityType.TENNIS)).hasSize(1);
+
+        persistTraining(new Training(user, new Date(3_000), new Date(4_000), ActivityType.TENNIS, 1.0, 2.0));
+
+        assertThat(trainingProvider.findTrainingsByActivityType(ActivityType.TENNIS)).hasSize(2);
+    }
+}
@@ -0,0 +1,121 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChange;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class TrainingTimeIndexTest {
+
+    @InjectMocks
+    private TrainingTimeIndex trainingTimeIndex;
+
+    @Mock
+    private TrainingRepository trainingRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(trainingRepository.streamEndTimes()).thenReturn(Stream.of(
+                endTime(3L, 1L, 300),
+                endTime(1L, 1L, 100),
+                endTime(2L, 1L, 200),
+                endTime(4L, 2L, 200),
+                endTime(5L, 1L, 200)));
+        trainingTimeIndex.rebuild();
+    }
+
+    @Test
+    void findTrainingIds_shouldReturnIdsWithinInclusivePeriodOrderedByEndTime() {
+        assertThat(trainingTimeIndex.isReady()).isTrue();
+        assertThat(trainingTimeIndex.findTrainingIds(1L, 100, 200)).containsExactly(1L, 2L, 5L);
+        assertThat(trainingTimeIndex.findTrainingIds(1L, 201, 1000)).containsExactly(3L);
+        assertThat(trainingTimeIndex.findTrainingIds(1L, 301, 1000)).isEmpty();
+        assertThat(trainingTimeIndex.findTrainingIds(2L, 0, 1000)).containsExactly(4L);
+        assertThat(trainingTimeIndex.findTrainingIds(3L, 0, 1000)).isEmpty();
+    }
+
+    @Test
+    void rebuild_shouldSortManyTrainingsByEndTimeAndId() {
+        Random random = new Random(42);
+        List<TrainingRepository.TrainingEndTime> endTimes = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            endTimes.add(endTime(id, 7L, random.nextInt(100)));
+        }
+        Collections.shuffle(endTimes, random);
+        when(trainingRepository.streamEndTimes()).thenReturn(endTimes.stream());
+
+        trainingTimeIndex.rebuild();
+
+        long[] expected = endTimes.stream()
+                .sorted(Comparator.comparing((TrainingRepository.TrainingEndTime endTime) -> endTime.getEndTime())
+                                .thenComparing(TrainingRepository.TrainingEndTime::getId))
+                .mapToLong(TrainingRepository.TrainingEndTime::getId)
+                .toArray();
+        assertThat(trainingTimeIndex.findTrainingIds(7L, 0, 1000)).containsExactly(expected);
+    }
+
+    @Test
+    void onTrainingsChanged_shouldIndexCreatedTraining() {
+        trainingTimeIndex.onTrainingsChanged(new TrainingsChangedEvent(List.of(
+                new TrainingChange(null, snapshot(6L, 3L, 150)))));
+
+        assertThat(trainingTimeIndex.findTrainingIds(3L, 0, 1000)).containsExactly(6L);
+    }
+
+    @Test
+    void onTrainingsChanged_shouldMoveUpdatedTraining() {
+        trainingTimeIndex.onTrainingsChanged(new TrainingsChangedEvent(List.of(
+                new TrainingChange(snapshot(4L, 2L, 200), snapshot(4L, 1L, 50)))));
+
+        assertThat(trainingTimeIndex.findTrainingIds(1L, 0, 1000)).containsExactly(4L, 1L, 2L, 5L, 3L);
+        assertThat(trainingTimeIndex.findTrainingIds(2L, 0, 1000)).isEmpty();
+    }
+
+    @Test
+    void onTrainingsChanged_shouldIgnoreAlreadyIndexedTraining() {
+        trainingTimeIndex.onTrainingsChanged(new TrainingsChangedEvent(List.of(
+                new TrainingChange(null, snapshot(2L, 1L, 200)))));
+
+        assertThat(trainingTimeIndex.findTrainingIds(1L, 0, 1000)).containsExactly(1L, 2L, 5L, 3L);
+    }
+
+    private static TrainingRepository.TrainingEndTime endTime(Long id, Long userId, long endTime) {
+        return new TrainingRepository.TrainingEndTime() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Date getEndTime() {
+                return new Date(endTime);
+            }
+        };
+    }
+
+    private static TrainingSnapshot snapshot(Long id, Long userId, long endTime) {
+        return new TrainingSnapshot(id, userId, LocalDate.of(1990, 1, 1), new Date(endTime - 10), new Date(endTime), ActivityType.RUNNING, 1.0, 1.0);
+    }
+}
@@ -3,6 +3,7 @@ package com.capgemini.wsb.fitnesstracker.user.internal;
 import com.capgemini.wsb.fitnesstracker.IntegrationTest;
 import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -30,6 +31,9 @@ class UserApiIntegrationTest extends IntegrationTestBase {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private UserServiceImpl userService;
+
     @Test
     void shouldReturnAllUsers_whenGettingAllUsers() throws Exception {
         User user1 = existingUser(generateUser());
@@ -38,16 +42,46 @@ class UserApiIntegrationTest extends IntegrationTestBase {
         mockMvc.perform(get("/v1/users").contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].firstName").value(user1.getFirstName()))
-                .andExpect(jsonPath("$[0].lastName").value(user1.getLastName()))
-                .andExpect(jsonPath("$[0].birthdate").value(ISO_DATE.format(user1.getBirthdate())))
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].firstName").value(user1.getFirstName()))
+                .andExpect(jsonPath("$.content[0].lastName").value(user1.getLastName()))
+                .andExpect(jsonPath("$.content[0].birthdate").value(ISO_DATE.format(user1.getBirthdate())))
 
-                .andExpect(jsonPath("$[1].firstName").value(user2.getFirstName()))
-                .andExpect(jsonPath("$[1].lastName").value(user2.getLastName()))
-                .andExpect(jsonPath("$[1].birthdate").value(ISO_DATE.format(user2.getBirthdate())))
+                .andExpect(jsonPath("$.content[1].firstName").value(user2.getFirstName()))
+                .andExpect(jsonPath("$.content[1].lastName").value(user2.getLastName()))
+                .andExpect(jsonPath("$.content[1].birthdate").value(ISO_DATE.format(user2.getBirthdate())))
 
-                .andExpect(jsonPath("$[2]").doesNotExist());
+                .andExpect(jsonPath("$.content[2]").doesNotExist())
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnFollowingPage_whenGettingAllUsersWithCursor() throws Exception {
+        existingUser(generateUser());
+        User user2 = existingUser(generateUser());
+        User user3 = existingUser(generateUser());
+
+        String firstPage = mockMvc.perform(get("/v1/users").param("size", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.next").isString())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(firstPage, "$.next");
+
+        mockMvc.perform(get("/v1/users").param("cursor", cursor).param("size", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].Id").value(user2.getId()))
+                .andExpect(jsonPath("$.content[1].Id").value(user3.getId()))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenGettingAllUsersWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/v1/users").param("cursor", "not-a-cursor").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -95,6 +129,19 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].email").value(user1.getEmail()));
     }
 
+    @Test
+    void shouldReturnMatchingUsers_whenSearchingByEmailFragmentIgnoringCase() throws Exception {
+        User user1 = existingUser(new User("Mike", "Scott", LocalDate.now(), "Mike.Scott@domain.com"));
+        existingUser(new User("Dwight", "Schrute", LocalDate.now(), "dwight.schrute@domain.com"));
+
+        mockMvc.perform(get("/v1/users/email").param("email", "KE.SCO").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(user1.getId().intValue()))
+                .andExpect(jsonPath("$[0].email").value(user1.getEmail()));
+    }
+
     @Test
     void shouldReturnAllUsersOlderThan_whenGettingAllUsersOlderThan() throws Exception {
         User user1 = existingUser(generateUserWithDate(LocalDate.of(2000, 8, 11)));
@@ -203,6 +250,60 @@ class UserApiIntegrationTest extends IntegrationTestBase {
         assertThat(user.getEmail()).isEqualTo(USER_EMAIL);
     }
 
+    @Test
+    void shouldReturnUpdatedUser_whenGettingCachedUserAfterUpdate() throws Exception {
+        User user1 = existingUser(generateUser());
+
+        mockMvc.perform(get("/v1/users/{id}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value(user1.getFirstName()));
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"firstName": "Mike"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/users/{id}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Mike"));
+    }
+
+    @Test
+    void shouldFindUserOnlyByNewEmail_whenGettingCachedUserAfterEmailChange() throws Exception {
+        User user1 = existingUser(generateUser());
+        String previousEmail = user1.getEmail();
+        String newEmail = randomUUID() + "@domain.com";
+        assertThat(userService.getUserByEmail(previousEmail)).isPresent();
+        assertThat(userService.getUserByEmail(newEmail)).isEmpty();
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email": "%s"}
+                                """.formatted(newEmail)))
+                .andExpect(status().isOk());
+
+        assertThat(userService.getUserByEmail(previousEmail)).isEmpty();
+        assertThat(userService.getUserByEmail(newEmail.toUpperCase()))
+                .hasValueSatisfying(user -> assertThat(user.getId()).isEqualTo(user1.getId()));
+    }
+
+    @Test
+    void shouldReturnCopyOfCachedUser_whenGettingUser() {
+        User user1 = existingUser(generateUser());
+        User cached = userService.getUser(user1.getId()).orElseThrow();
+        cached.setFirstName("Mike");
+
+        assertThat(userService.getUser(user1.getId()))
+                .hasValueSatisfying(user -> {
+                    assertThat(user).isNotSameAs(cached);
+                    assertThat(user.getFirstName()).isEqualTo(user1.getFirstName());
+                });
+    }
+
     public static User generateUser() {
         return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString());
     }
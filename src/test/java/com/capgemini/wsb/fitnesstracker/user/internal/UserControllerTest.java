@@ -1,5 +1,8 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Cursors;
+import com.capgemini.wsb.fitnesstracker.pagination.api.PageDto;
+import com.capgemini.wsb.fitnesstracker.pagination.api.PaginationProperties;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,6 +18,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
@@ -32,6 +37,9 @@ class UserControllerTest {
     @Mock
     private UserMapper userMapper;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(50, 500);
+
     private final User userTest = new User("John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@example.com");
     private final UserDto userDtoTest = new UserDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@example.com");
 
@@ -41,15 +49,29 @@ class UserControllerTest {
     }
 
     @Test
-    void getAllUsers_shouldReturnListOfUserDtos() {
-        when(userService.findAllUsers()).thenReturn(List.of(userTest));
+    void getAllUsers_shouldReturnPageOfUserDtos() {
+        when(userService.findUsersPage(null, 51)).thenReturn(List.of(userTest));
         when(userMapper.toDto(userTest)).thenReturn(userDtoTest);
 
-        List<UserDto> result = userController.getAllUsers();
+        PageDto<UserDto> result = userController.getAllUsers(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(userDtoTest, result.get(0));
+        assertEquals(1, result.content().size());
+        assertEquals(userDtoTest, result.content().get(0));
+        assertNull(result.next());
+    }
+
+    @Test
+    void getAllUsers_shouldReturnCursorOfNextPageWhenMoreUsersExist() {
+        User secondUser = new User("Jane", "Doe", LocalDate.of(1985, 5, 10), "jane.doe@example.com");
+        userTest.setId(7L);
+        when(userService.findUsersPage(3L, 2)).thenReturn(List.of(userTest, secondUser));
+        when(userMapper.toDto(userTest)).thenReturn(userDtoTest);
+
+        PageDto<UserDto> result = userController.getAllUsers(Cursors.encode(3L), 1);
+
+        assertEquals(List.of(userDtoTest), result.content());
+        assertEquals(Cursors.encode(7L), result.next());
     }
 
     @Test
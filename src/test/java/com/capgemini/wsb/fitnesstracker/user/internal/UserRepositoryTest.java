@@ -9,9 +9,15 @@ import org.mockito.Spy;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UserRepositoryTest {
@@ -28,26 +34,45 @@ class UserRepositoryTest {
     }
 
     @Test
-    void findByEmail_shouldReturnUserWhenEmailMatches() {
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+    void findByEmail_shouldLookUpNormalizedEmail() {
+        when(userRepository.findByNormalizedEmail("john.doe@example.com")).thenReturn(Optional.of(user1));
 
-        Optional<User> result = userRepository.findByEmail("john.doe@example.com");
+        Optional<User> result = userRepository.findByEmail("John.Doe@Example.com");
 
         assertTrue(result.isPresent());
         assertEquals(user1, result.get());
     }
 
     @Test
-    void findByEmailContainingIgnoreCase_shouldReturnMatchingUsers() {
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+    void findByEmailContainingIgnoreCase_shouldSearchByTrigrams() {
+        when(userRepository.findByEmailTrigrams(Set.of("doe", "oe@"), 2L, "%doe@%")).thenReturn(List.of(user1, user2));
 
-        List<User> result = userRepository.findByEmailContainingIgnoreCase("doe");
+        List<User> result = userRepository.findByEmailContainingIgnoreCase("DOE@");
 
         assertEquals(2, result.size());
         assertTrue(result.contains(user1));
         assertTrue(result.contains(user2));
     }
 
+    @Test
+    void findByEmailContainingIgnoreCase_shouldEscapeLikeWildcards() {
+        when(userRepository.findByEmailTrigrams(Set.of("n_d", "_do"), 2L, "%n!_do%")).thenReturn(List.of(user1));
+
+        List<User> result = userRepository.findByEmailContainingIgnoreCase("n_do");
+
+        assertEquals(List.of(user1), result);
+    }
+
+    @Test
+    void findByEmailContainingIgnoreCase_shouldFallBackToLikeForShortFragments() {
+        when(userRepository.findByNormalizedEmailContaining("jo")).thenReturn(List.of(user1));
+
+        List<User> result = userRepository.findByEmailContainingIgnoreCase("Jo");
+
+        assertEquals(List.of(user1), result);
+        verify(userRepository, never()).findByEmailTrigrams(anyCollection(), anyLong(), anyString());
+    }
+
     @Test
     void findOlderThanBirthdate_shouldReturnUsersOlderThanCutoffDate() {
         when(userRepository.findAll()).thenReturn(List.of(user1, user2));
@@ -8,6 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,6 +27,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(UserCacheConfig.USERS_BY_ID, UserCacheConfig.USERS_BY_EMAIL);
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -68,7 +74,9 @@ class UserServiceImplTest {
         Optional<User> result = userService.getUser(1L);
 
         assertTrue(result.isPresent());
-        assertEquals(user, result.get());
+        assertNotSame(user, result.get());
+        assertEquals(user.getFirstName(), result.get().getFirstName());
+        assertEquals(user.getEmail(), result.get().getEmail());
     }
 
     @Test
@@ -88,7 +96,9 @@ class UserServiceImplTest {
         Optional<User> result = userService.getUserByEmail("john.doe@example.com");
 
         assertTrue(result.isPresent());
-        assertEquals(user, result.get());
+        assertNotSame(user, result.get());
+        assertEquals(user.getFirstName(), result.get().getFirstName());
+        assertEquals(user.getEmail(), result.get().getEmail());
     }
 
     @Test
@@ -114,7 +124,7 @@ class UserServiceImplTest {
 
     @Test
     void deleteUser_shouldThrowExceptionIfUserNotFound() {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userService.deleteUser(1L));
 
@@ -123,12 +133,28 @@ class UserServiceImplTest {
 
     @Test
     void deleteUser_shouldDeleteUserIfExists() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        User user = new User("John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@example.com");
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        doNothing().when(userRepository).delete(user);
+
+        userService.deleteUser(1L);
+
+        verify(userRepository, times(1)).delete(user);
+    }
+
+    @Test
+    void deleteUser_shouldEvictUserFromCaches() {
+        User user = new User("John", "Doe", LocalDate.of(1990, 1, 1), "John.Doe@example.com");
+        user.setId(1L);
+        cacheManager.getCache(UserCacheConfig.USERS_BY_ID).put(1L, user);
+        cacheManager.getCache(UserCacheConfig.USERS_BY_EMAIL).put("john.doe@example.com", user);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         userService.deleteUser(1L);
 
-        verify(userRepository, times(1)).deleteById(1L);
+        assertNull(cacheManager.getCache(UserCacheConfig.USERS_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(UserCacheConfig.USERS_BY_EMAIL).get("john.doe@example.com"));
     }
 
     @Test
@@ -154,6 +180,37 @@ class UserServiceImplTest {
         assertEquals(user, result);
     }
 
+    @Test
+    void updateUser_shouldEvictPreviousStateFromCaches() {
+        User user = new User("John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@example.com");
+        user.setId(1L);
+        cacheManager.getCache(UserCacheConfig.USERS_BY_ID).put(1L, user);
+        cacheManager.getCache(UserCacheConfig.USERS_BY_EMAIL).put("john.doe@example.com", user);
+        UserUpdateDto userUpdateDto = new UserUpdateDto(null, null, null, "johnny.doe@example.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("johnny.doe@example.com")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.updateUser(1L, userUpdateDto);
+
+        assertNull(cacheManager.getCache(UserCacheConfig.USERS_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(UserCacheConfig.USERS_BY_EMAIL).get("john.doe@example.com"));
+    }
+
+    @Test
+    void updateUser_shouldThrowExceptionIfEmailTakenByAnotherUser() {
+        User user = new User("John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@example.com");
+        User otherUser = new User("Jane", "Doe", LocalDate.of(1985, 5, 10), "jane.doe@example.com");
+        UserUpdateDto userUpdateDto = new UserUpdateDto(null, null, null, "Jane.Doe@example.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("Jane.Doe@example.com")).thenReturn(Optional.of(otherUser));
+
+        UserEmailAlreadyExistsException exception = assertThrows(UserEmailAlreadyExistsException.class, () -> userService.updateUser(1L, userUpdateDto));
+
+        assertEquals("User with email=Jane.Doe@example.com already exists", exception.getMessage());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void getUserByEmailContainingIgnoreCase_shouldReturnListOfUsers() {
         User user = new User("John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@example.com");